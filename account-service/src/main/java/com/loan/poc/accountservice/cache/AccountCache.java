@@ -0,0 +1,133 @@
+package com.loan.poc.accountservice.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.loan.poc.accountservice.dto.AccountResponse;
+import com.loan.poc.accountservice.dto.CacheStatsResponse;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded read-through cache of AccountResponse keyed by account id.
+ *
+ * - Size bound and expire-after-write TTL from application.properties
+ * - Writers evict after their transaction commits. Eviction also drops an
+ *   in-flight load of the same id, and Caffeine never re-inserts a dropped
+ *   load when it completes, so a pre-commit read cannot outlive the write.
+ * - Loads run on virtual threads outside the cache's map lock. A blocking
+ *   loader inside ConcurrentHashMap.compute would pin the caller's carrier
+ *   thread when requests run on virtual threads; concurrent misses for the
+ *   same id still share one load. The caller's context travels with the
+ *   load (LoaderExecutor).
+ */
+@Component
+public class AccountCache {
+
+    private final LoaderExecutor loaderExecutor = new LoaderExecutor();
+    private final AsyncCache<Long, AccountResponse> cache;
+
+    public AccountCache(@Value("${accounts.cache.max-size:100000}") long maxSize,
+                        @Value("${accounts.cache.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(loaderExecutor)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached account or loads it. Missing accounts are not cached.
+     */
+    public Optional<AccountResponse> get(Long id, Function<Long, AccountResponse> loader) {
+        return Optional.ofNullable(join(cache.get(id, loader)));
+    }
+
+    /**
+     * Bulk read-through: ids not cached are loaded with a single call to the
+     * loader. Missing accounts are absent from the returned map.
+     */
+    public Map<Long, AccountResponse> getAll(Collection<Long> ids,
+                                             Function<Set<? extends Long>, Map<Long, AccountResponse>> loader) {
+        return join(cache.getAll(ids, loader));
+    }
+
+    public void put(AccountResponse account) {
+        cache.put(account.getId(), CompletableFuture.completedFuture(account));
+    }
+
+    /**
+     * Caches the accounts once the current transaction commits
+     * (immediately when no transaction is active) → a rolled-back insert is never cached.
+     */
+    public void putAllAfterCommit(Collection<AccountResponse> accounts) {
+        runAfterCommit(() -> accounts.forEach(this::put));
+    }
+
+    /**
+     * Evicts the account once the current transaction commits
+     * (immediately when no transaction is active).
+     */
+    public void evictAfterCommit(Long id) {
+        runAfterCommit(() -> cache.synchronous().invalidate(id));
+    }
+
+    public void evictAllAfterCommit(Collection<Long> ids) {
+        runAfterCommit(() -> cache.synchronous().invalidateAll(ids));
+    }
+
+    @PreDestroy
+    void close() {
+        loaderExecutor.close();
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats s = cache.synchronous().stats();
+        return CacheStatsResponse.builder()
+                .size(cache.synchronous().estimatedSize())
+                .hits(s.hitCount())
+                .misses(s.missCount())
+                .hitRate(s.hitRate())
+                .evictions(s.evictionCount())
+                .build();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw ex;
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
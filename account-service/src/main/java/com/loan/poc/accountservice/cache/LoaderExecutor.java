@@ -0,0 +1,39 @@
+package com.loan.poc.accountservice.cache;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import com.loan.poc.replica.PrimaryReads;
+
+/**
+ * Executor for async cache loads: one virtual thread per load.
+ *
+ * The caller's thread-local context travels with the load, so it behaves as
+ * if it ran on the request thread:
+ * - observation / trace context (context-propagation)
+ * - SecurityContext
+ * - PrimaryReads
+ *
+ * The owning cache closes it on shutdown.
+ */
+final class LoaderExecutor implements Executor, AutoCloseable {
+
+    private static final TaskDecorator CONTEXT = new ContextPropagatingTaskDecorator();
+
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public void execute(Runnable task) {
+        threads.execute(new DelegatingSecurityContextRunnable(CONTEXT.decorate(PrimaryReads.propagate(task))));
+    }
+
+    @Override
+    public void close() {
+        threads.close();
+    }
+}
@@ -0,0 +1,106 @@
+package com.loan.poc.accountservice.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.loan.poc.accountservice.dto.CacheStatsResponse;
+import com.loan.poc.accountservice.dto.UserValidationResponse;
+import com.loan.poc.accountservice.feign.UserClient;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Caches User Service validation results by username.
+ *
+ * - Valid users are kept for the positive TTL, unknown users for the
+ *   (shorter) negative TTL so a freshly registered user is seen quickly
+ * - Size bounded
+ * - Single-flight: concurrent misses for the same username wait on one
+ *   remote call instead of each calling User Service
+ * - The remote call runs on a virtual thread outside the cache's map lock,
+ *   so waiting callers never pin a carrier thread; the caller's context
+ *   travels with it (LoaderExecutor)
+ * - Failed or empty remote calls are not cached
+ */
+@Component
+public class UserValidationCache {
+
+    @Autowired
+    private UserClient userClient;
+
+    private final LoaderExecutor loaderExecutor = new LoaderExecutor();
+    private final AsyncCache<String, UserValidationResponse> cache;
+
+    public UserValidationCache(@Value("${accounts.user-validation.cache.max-size:50000}") long maxSize,
+                               @Value("${accounts.user-validation.cache.positive-ttl:10m}") Duration positiveTtl,
+                               @Value("${accounts.user-validation.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, UserValidationResponse>() {
+                    @Override
+                    public long expireAfterCreate(String username, UserValidationResponse v, long currentTime) {
+                        return (v.isValid() ? positiveTtl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String username, UserValidationResponse v,
+                                                  long currentTime, long currentDuration) {
+                        return expireAfterCreate(username, v, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String username, UserValidationResponse v,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .executor(loaderExecutor)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * @return cached or freshly fetched validation, null if User Service returned no body
+     */
+    public UserValidationResponse validate(String username) {
+        try {
+            return cache.get(username, key -> userClient.validateUser(key).getBody()).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Drops a cached result, e.g. after learning the user was deleted.
+     */
+    public void evict(String username) {
+        cache.synchronous().invalidate(username);
+    }
+
+    @PreDestroy
+    void close() {
+        loaderExecutor.close();
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats s = cache.synchronous().stats();
+        return CacheStatsResponse.builder()
+                .size(cache.synchronous().estimatedSize())
+                .hits(s.hitCount())
+                .misses(s.missCount())
+                .hitRate(s.hitRate())
+                .evictions(s.evictionCount())
+                .build();
+    }
+}
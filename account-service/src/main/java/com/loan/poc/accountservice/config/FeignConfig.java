@@ -0,0 +1,39 @@
+package com.loan.poc.accountservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.loan.poc.accountservice.security.ServiceTokenProvider;
+
+import feign.RequestInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+
+@Configuration
+public class FeignConfig {
+
+    @Bean
+    public RequestInterceptor requestInterceptor(ServiceTokenProvider serviceTokenProvider) {
+        return requestTemplate -> {
+
+            // Get current HTTP request
+            ServletRequestAttributes attributes =
+                    (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+
+            String authHeader = null;
+            if (attributes != null) {
+                HttpServletRequest request = attributes.getRequest();
+                authHeader = request.getHeader("Authorization");
+            }
+
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                // Forward JWT to downstream service
+                requestTemplate.header("Authorization", authHeader);
+            } else {
+                // Background work (streaming import, cache loaders) → call as account-service itself
+                requestTemplate.header("Authorization", serviceTokenProvider.bearerHeader());
+            }
+        };
+    }
+}
@@ -1,18 +1,35 @@
 package com.loan.poc.accountservice.controller;
 
+import com.loan.poc.accountservice.cache.AccountCache;
+import com.loan.poc.accountservice.cache.UserValidationCache;
+import com.loan.poc.accountservice.dto.CacheStatsResponse;
 import com.loan.poc.accountservice.dto.CreateAccountRequest;
 import com.loan.poc.accountservice.dto.CreditRequest;
 import com.loan.poc.accountservice.dto.DebitCreditResponse;
 import com.loan.poc.accountservice.dto.DebitRequest;
 import com.loan.poc.accountservice.dto.AccountResponse;
+import com.loan.poc.accountservice.dto.BatchPostingRequest;
+import com.loan.poc.accountservice.dto.BatchPostingResponse;
+import com.loan.poc.accountservice.dto.PostingStatsResponse;
+import com.loan.poc.accountservice.dto.TransferRequest;
+import com.loan.poc.accountservice.dto.TransferResponse;
+import com.loan.poc.accountservice.service.AccountImportService;
 import com.loan.poc.accountservice.service.AccountService;
+import com.loan.poc.accountservice.service.AccountStreamService;
+import com.loan.poc.accountservice.service.BatchPostingService;
+import com.loan.poc.accountservice.service.LoanScheduleService;
+import com.loan.poc.accountservice.service.ShardedPostingService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -20,36 +37,137 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AccountController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     @Autowired
     private final AccountService accountService;
 
+    private final BatchPostingService batchPostingService;
+
+    private final AccountStreamService accountStreamService;
+
+    private final AccountImportService accountImportService;
+
+    private final LoanScheduleService loanScheduleService;
+
+    private final AccountCache accountCache;
+
+    private final UserValidationCache userValidationCache;
+
+    // Present only when accounts.posting.mode=sharded
+    @Autowired(required = false)
+    private ShardedPostingService shardedPostingService;
+
     @PostMapping("/create")
     public ResponseEntity<AccountResponse> create(@RequestBody CreateAccountRequest request) {
         return accountService.createAccount(request);
     }
 
+    // Many accounts in one transaction, inserted in JDBC batches
+    @PostMapping("/create/bulk")
+    public ResponseEntity<List<AccountResponse>> createBulk(@RequestBody List<CreateAccountRequest> requests) {
+        return accountService.createAccounts(requests);
+    }
+
+    // Bulk onboarding: CSV (text/csv, header row) or NDJSON upload, read as a stream.
+    // The response streams ImportEvents: row errors, per-chunk progress, final totals.
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importAccounts(HttpServletRequest request) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV);
+        return accountImportService.importAccounts(request.getInputStream(), csv);
+    }
+
+    @GetMapping("/bulk")
+    public ResponseEntity<List<AccountResponse>> getByIds(@RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean fresh) {
+        return accountService.getAccountsByIds(ids, fresh);
+    }
+
+    // fresh=true → read from the primary database (no cache, no replica)
     @GetMapping("/{id}")
-    public ResponseEntity<AccountResponse> getById(@PathVariable Long id) {
-        return accountService.getAccountById(id);
+    public ResponseEntity<AccountResponse> getById(@PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean fresh) {
+        return accountService.getAccountById(id, fresh);
+    }
+
+    // EMI amortization table of a LOAN account, rebased after prepayments
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<?> getSchedule(@PathVariable Long id) {
+        return loanScheduleService.getSchedule(id);
     }
 
+    // keyset page of at most `limit` rows; callers follow X-Next-After-Id for the rest
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<AccountResponse>> getByUserId(@PathVariable Long userId) {
-        return accountService.getAccountsByUserId(userId);
+    public ResponseEntity<List<AccountResponse>> getByUserId(@PathVariable Long userId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return accountService.getAccountsByUserId(userId, afterId, limit);
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByUserId(@PathVariable Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> accountStreamService.streamAccountsByUserId(userId, out));
     }
 
+    // keyset page of at most `limit` rows; callers follow X-Next-After-Id for the rest
     @GetMapping
-    public ResponseEntity<List<AccountResponse>> getAll() {
-        return accountService.getAllAccounts();
+    public ResponseEntity<List<AccountResponse>> getAll(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return accountService.getAllAccounts(afterId, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(accountStreamService::streamAllAccounts);
     }
 
      @PostMapping("/debit")
     public ResponseEntity<DebitCreditResponse> debit(@RequestBody DebitRequest request) {
+        if (shardedPostingService != null) {
+            return shardedPostingService.debit(request);
+        }
         return accountService.debit(request);
     }
 
     @PostMapping("/credit")
     public ResponseEntity<DebitCreditResponse> credit(@RequestBody CreditRequest request) {
+        if (shardedPostingService != null) {
+            return shardedPostingService.credit(request);
+        }
         return accountService.credit(request);
     }
+
+    @PostMapping("/transfer")
+    public ResponseEntity<TransferResponse> transfer(@RequestBody TransferRequest request) {
+        return accountService.transfer(request);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchPostingResponse> batch(@RequestBody BatchPostingRequest request) {
+        return batchPostingService.postBatch(request);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsResponse> cacheStats() {
+        return ResponseEntity.ok(accountCache.stats());
+    }
+
+    @GetMapping("/cache/user-validation/stats")
+    public ResponseEntity<CacheStatsResponse> userValidationCacheStats() {
+        return ResponseEntity.ok(userValidationCache.stats());
+    }
+
+    @GetMapping("/postings/stats")
+    public ResponseEntity<PostingStatsResponse> postingStats() {
+        if (shardedPostingService == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(shardedPostingService.stats());
+    }
 }
@@ -0,0 +1,13 @@
+package com.loan.poc.accountservice.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Postings applied together in one transaction, in list order.
+ */
+@Data
+public class BatchPostingRequest {
+    private List<PostingInstruction> postings;
+}
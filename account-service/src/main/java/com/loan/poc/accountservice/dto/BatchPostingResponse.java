@@ -0,0 +1,19 @@
+package com.loan.poc.accountservice.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchPostingResponse {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<PostingResult> results;
+}
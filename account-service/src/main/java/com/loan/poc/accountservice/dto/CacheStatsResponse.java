@@ -0,0 +1,22 @@
+package com.loan.poc.accountservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Hit/miss/eviction counters of an in-process cache.
+ */
+@Data
+@Builder
+public class CacheStatsResponse {
+
+    private long size;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRate;
+
+    private long evictions;
+}
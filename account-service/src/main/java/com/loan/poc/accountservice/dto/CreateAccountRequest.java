@@ -14,4 +14,9 @@ public class CreateAccountRequest {
 
     private BigDecimal initialDeposit;
 
+    // LOAN only, optional: initialDeposit is the principal
+    private BigDecimal annualInterestRate; // percent
+
+    private Integer tenureMonths;
+
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.loan.poc.accountservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One NDJSON line of the POST /accounts/import response.
+ *
+ * type = "error"    → line + message for a rejected row
+ * type = "progress" → running totals after each committed chunk
+ * type = "done"     → final totals (message set if the import stopped early)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEvent {
+    private String type;
+    private Long line;
+    private String message;
+    private Long rowsRead;
+    private Long imported;
+    private Long rejected;
+}
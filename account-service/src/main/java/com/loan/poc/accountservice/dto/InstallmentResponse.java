@@ -0,0 +1,25 @@
+package com.loan.poc.accountservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a loan's amortization table; balance is what remains after it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InstallmentResponse {
+    private int number;
+    private LocalDate dueDate;
+    private BigDecimal payment;
+    private BigDecimal principal;
+    private BigDecimal interest;
+    private BigDecimal balance;
+}
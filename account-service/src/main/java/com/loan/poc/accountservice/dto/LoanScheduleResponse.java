@@ -0,0 +1,24 @@
+package com.loan.poc.accountservice.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LoanScheduleResponse {
+    private Long accountId;
+    private BigDecimal principal;
+    private BigDecimal annualInterestRate; // percent
+    private int tenureMonths;
+    private BigDecimal emi;                // current installment (lower after a reduce-emi prepayment)
+    private BigDecimal outstanding;
+    private BigDecimal totalInterest;
+    private List<InstallmentResponse> installments;
+}
@@ -0,0 +1,15 @@
+package com.loan.poc.accountservice.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+/**
+ * One debit or credit inside a batch posting request.
+ */
+@Data
+public class PostingInstruction {
+    private Long accountId;
+    private PostingType type;
+    private BigDecimal amount;
+}
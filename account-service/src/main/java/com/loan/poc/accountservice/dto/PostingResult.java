@@ -0,0 +1,20 @@
+package com.loan.poc.accountservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one instruction of a batch, matched by its index in the request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostingResult {
+    private int index;
+    private Long accountId;
+    private boolean success;
+    private String message;
+}
@@ -0,0 +1,28 @@
+package com.loan.poc.accountservice.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Runtime statistics of the sharded posting executor.
+ */
+@Data
+@Builder
+public class PostingStatsResponse {
+
+    private int shards;
+
+    private List<Integer> queueDepths; // pending postings per shard
+
+    private int totalQueueDepth;
+
+    private long postings;   // postings answered
+
+    private long writes;     // balance UPDATEs issued
+
+    private double coalescingRatio; // postings per write
+
+    private long conflicts;  // compare-and-set retries
+}
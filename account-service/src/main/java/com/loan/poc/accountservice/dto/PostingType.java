@@ -0,0 +1,6 @@
+package com.loan.poc.accountservice.dto;
+
+public enum PostingType {
+    DEBIT,
+    CREDIT
+}
@@ -0,0 +1,17 @@
+package com.loan.poc.accountservice.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+/**
+ * Loan repayment: debit a DEPOSIT account and reduce a LOAN account
+ * of the same user, in one transaction.
+ */
+@Data
+public class TransferRequest {
+    private Long depositAccountId;
+    private Long loanAccountId;
+    private BigDecimal amount;
+    private String reference; // optional idempotency reference, e.g. payment transactionId
+}
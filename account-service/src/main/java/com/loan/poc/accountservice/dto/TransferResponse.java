@@ -0,0 +1,20 @@
+package com.loan.poc.accountservice.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransferResponse {
+    private boolean success;
+    private String message;
+    private BigDecimal depositBalance; // after the transfer
+    private BigDecimal loanBalance;    // outstanding after the transfer
+    private LoanStatus loanStatus;
+}
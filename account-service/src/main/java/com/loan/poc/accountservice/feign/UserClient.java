@@ -1,15 +1,24 @@
 package com.loan.poc.accountservice.feign;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import com.loan.poc.accountservice.config.FeignConfig;
 import com.loan.poc.accountservice.dto.UserValidationResponse;
 
-@FeignClient(name = "USER-SERVICE")
+@FeignClient(name = "USER-SERVICE", configuration = FeignConfig.class)
 public interface UserClient {
 
     @GetMapping("/api/users/validate/{username}")
     public ResponseEntity<UserValidationResponse> validateUser(@PathVariable String username);
+
+    // Subset of the given user ids that exist; at most users.validate.max-ids per call
+    @PostMapping("/api/users/validate/ids")
+    public List<Long> existingUserIds(@RequestBody List<Long> ids);
 }
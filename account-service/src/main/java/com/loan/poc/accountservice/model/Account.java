@@ -13,6 +13,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,7 +23,9 @@ import lombok.NoArgsConstructor;
 
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+        @Index(name = "idx_accounts_user_id_id", columnList = "user_id, id") // keyset paging per user
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,8 +33,10 @@ import lombok.NoArgsConstructor;
 
 public class Account {
 
+    // Pooled sequence: one nextval per 50 ids, and inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -50,9 +56,17 @@ public class Account {
 
      private Double loanAmount;  // For LOAN accounts only
 
+    // LOAN terms for the EMI schedule (GET /accounts/{id}/schedule); null → no schedule
+    @Column(name = "annual_interest_rate", precision = 7, scale = 4)
+    private BigDecimal annualInterestRate; // percent, e.g. 9.5
+
+    @Column(name = "tenure_months")
+    private Integer tenureMonths;
+
     @Enumerated(EnumType.STRING)
     private LoanStatus status; // NEW, ACTIVE, CLOSED
 
     @Column(name = "created_at")
+    @Builder.Default // builder-created accounts get it too (schedule due dates start here)
     private Instant createdAt = Instant.now();
 }
@@ -0,0 +1,52 @@
+package com.loan.poc.accountservice.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Record of an applied /accounts/transfer, keyed by the caller's reference
+ * (payment-service transactionId). Written in the same transaction as the
+ * balance updates, so a retried transfer with the same reference is detected
+ * and never applied twice.
+ */
+@Entity
+@Table(name = "account_transfers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_transfers_seq")
+    @SequenceGenerator(name = "account_transfers_seq", sequenceName = "account_transfers_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String reference;
+
+    @Column(name = "deposit_account_id", nullable = false)
+    private Long depositAccountId;
+
+    @Column(name = "loan_account_id", nullable = false)
+    private Long loanAccountId;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "created_at")
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+}
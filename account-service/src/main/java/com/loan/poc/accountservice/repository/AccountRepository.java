@@ -1,17 +1,102 @@
 package com.loan.poc.accountservice.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.loan.poc.accountservice.dto.LoanStatus;
 import com.loan.poc.accountservice.model.Account;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     
+    @Transactional(readOnly = true)
     List<Account> findByUserId(Long userId);
 
     Optional<Account> findById(Long id);
+
+    /**
+     * Keyset page over all accounts: rows after the given id, in id order.
+     */
+    @Transactional(readOnly = true)
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Keyset page over one user's accounts, served by the (user_id, id) index.
+     */
+    @Transactional(readOnly = true)
+    List<Account> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Limit limit);
+
+    /**
+     * Loads and row-locks several accounts in one query.
+     * Ordered by id so concurrent batches always lock in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Applies a debit in a single conditional statement:
+     * - DEPOSIT: deducts amount only if the balance covers it
+     * - LOAN: reduces outstanding principal, clamping at zero and auto-closing
+     *   the loan when fully repaid (ACTIVE otherwise)
+     *
+     * Balance check and update happen atomically in the database, so concurrent
+     * debits can neither overdraw a deposit nor lose an update. Every SET
+     * expression sees the pre-update balance.
+     *
+     * @return 1 if the row was updated, 0 if missing or deposit balance is insufficient
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Account a SET "
+            + "a.balance = CASE "
+            + "WHEN a.accountType = com.loan.poc.accountservice.dto.AccountType.LOAN "
+            + "AND a.balance - :amount <= 0 THEN 0 "
+            + "ELSE a.balance - :amount END, "
+            + "a.status = CASE "
+            + "WHEN a.accountType <> com.loan.poc.accountservice.dto.AccountType.LOAN THEN a.status "
+            + "WHEN a.balance - :amount <= 0 THEN com.loan.poc.accountservice.dto.LoanStatus.CLOSED "
+            + "ELSE com.loan.poc.accountservice.dto.LoanStatus.ACTIVE END "
+            + "WHERE a.id = :id "
+            + "AND (a.accountType = com.loan.poc.accountservice.dto.AccountType.LOAN "
+            + "OR a.balance >= :amount)")
+    int applyDebit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Adds amount to a DEPOSIT account in a single statement.
+     *
+     * @return 1 if the row was updated, 0 if missing or not DEPOSIT
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount "
+            + "WHERE a.id = :id "
+            + "AND a.accountType = com.loan.poc.accountservice.dto.AccountType.DEPOSIT")
+    int creditDeposit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Writes a precomputed balance/status only if the balance is still the one
+     * the caller read (compare-and-set). Used by the sharded posting mode to
+     * write several coalesced postings at once without holding a row lock.
+     *
+     * @return 1 if written, 0 if the row changed since it was read
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = :newBalance, a.status = :newStatus "
+            + "WHERE a.id = :id AND a.balance = :expectedBalance")
+    int compareAndSetBalance(@Param("id") Long id,
+                             @Param("expectedBalance") BigDecimal expectedBalance,
+                             @Param("newBalance") BigDecimal newBalance,
+                             @Param("newStatus") LoanStatus newStatus);
 }
@@ -0,0 +1,12 @@
+package com.loan.poc.accountservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.loan.poc.accountservice.model.AccountTransfer;
+
+@Repository
+public interface AccountTransferRepository extends JpaRepository<AccountTransfer, Long> {
+
+    boolean existsByReference(String reference);
+}
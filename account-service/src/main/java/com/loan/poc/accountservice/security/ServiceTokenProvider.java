@@ -0,0 +1,56 @@
+package com.loan.poc.accountservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Token for calls account-service makes on its own behalf (the streaming
+ * import validating user ids off the request thread), where there is no
+ * incoming request whose Authorization header could be forwarded.
+ *
+ * Signed with the shared jwt.secret, subject = spring.application.name,
+ * roles = ROLE_SERVICE (user-service builds the principal from the claims,
+ * there is no user row behind it). Re-issued once half of its lifetime has passed.
+ */
+@Component
+public class ServiceTokenProvider {
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${jwt.expiration}")
+    private long expirationMs;
+
+    @Value("${spring.application.name}")
+    private String serviceName;
+
+    private volatile String token;
+    private volatile long renewAt;
+
+    public String bearerHeader() {
+        return "Bearer " + token();
+    }
+
+    private String token() {
+        long now = System.currentTimeMillis();
+        if (token == null || now >= renewAt) {
+            // racing threads may both issue a token → harmless, both are valid
+            token = Jwts.builder()
+                    .subject(serviceName)
+                    .claim("roles", List.of("ROLE_SERVICE"))
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + expirationMs))
+                    .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                    .compact();
+            renewAt = now + expirationMs / 2;
+        }
+        return token;
+    }
+}
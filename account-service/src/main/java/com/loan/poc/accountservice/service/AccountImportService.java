@@ -0,0 +1,398 @@
+package com.loan.poc.accountservice.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loan.poc.accountservice.cache.UserValidationCache;
+import com.loan.poc.accountservice.dto.AccountType;
+import com.loan.poc.accountservice.dto.CreateAccountRequest;
+import com.loan.poc.accountservice.dto.ImportEvent;
+import com.loan.poc.accountservice.dto.LoanStatus;
+import com.loan.poc.accountservice.dto.UserValidationResponse;
+import com.loan.poc.accountservice.feign.UserClient;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming bulk account import (CSV or NDJSON of CreateAccountRequest rows).
+ *
+ * 1. Read the upload line by line, parse and check each row
+ * 2. Every batch-size good rows → one chunk:
+ *    - distinct user ids validated with one User Service call per 1000 ids
+ *      (answers kept in a bounded per-import cache, so ids repeated in later
+ *      chunks are not sent again)
+ *    - ids taken from accounts_seq in 50-id blocks, like Hibernate's pooled optimizer
+ *    - rows written with COPY FROM STDIN (JDBC batch insert if the driver is not
+ *      Postgres), one transaction per chunk
+ * 3. Rejected rows, per-chunk progress and the final totals are written to the
+ *    response as NDJSON ImportEvents as they happen
+ *
+ * Only one chunk is held in memory, so memory does not grow with the file size.
+ * Chunks committed before a failure stay imported; the "done" event says where it stopped.
+ */
+@Service
+public class AccountImportService {
+
+    private static final String COPY_SQL =
+            "COPY accounts (id, user_id, account_type, balance, status, created_at,"
+            + " loan_amount, annual_interest_rate, tenure_months) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO accounts (id, user_id, account_type, balance, status, created_at,"
+            + " loan_amount, annual_interest_rate, tenure_months) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // accounts_seq increment = Account's allocationSize
+    private static final int ID_BLOCK = 50;
+
+    // user-service users.validate.max-ids
+    private static final int VALIDATE_BATCH = 1000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private UserValidationCache userValidationCache;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Value("${accounts.import.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${accounts.import.known-users.max-size:100000}")
+    private long knownUsersMaxSize;
+
+    private record Row(long line, CreateAccountRequest request) {
+    }
+
+    /** Running totals of one import. */
+    private static final class Totals {
+        long rowsRead;
+        long imported;
+        long rejected;
+    }
+
+    /**
+     * Checks the caller once (same rule as createAccount), then streams the
+     * import on the async request thread.
+     */
+    public ResponseEntity<StreamingResponseBody> importAccounts(InputStream in, boolean csv) {
+        UserValidationResponse caller =
+                userValidationCache.validate(SecurityContextHolder.getContext().getAuthentication().getName());
+        if (caller == null || !caller.isValid()) {
+            throw new RuntimeException("Invalid user - User does not exist in User Service");
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> run(in, csv, out));
+    }
+
+    private void run(InputStream in, boolean csv, OutputStream target) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        BufferedOutputStream out = new BufferedOutputStream(target);
+        Cache<Long, Boolean> knownUsers = Caffeine.newBuilder().maximumSize(knownUsersMaxSize).build();
+        Totals totals = new Totals();
+        List<Row> chunk = new ArrayList<>(batchSize);
+
+        long lineNo = 0;
+        int[] columns = null;
+        if (csv) {
+            lineNo++;
+            columns = csvColumns(reader.readLine());
+            if (columns == null) {
+                done(out, totals, "CSV header must name userId, accountType and initialDeposit");
+                return;
+            }
+        }
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                totals.rowsRead++;
+                try {
+                    CreateAccountRequest request = csv
+                            ? parseCsv(line, columns)
+                            : objectMapper.readValue(line, CreateAccountRequest.class);
+                    String problem = check(request);
+                    if (problem != null) {
+                        reject(out, totals, lineNo, problem);
+                    } else {
+                        chunk.add(new Row(lineNo, request));
+                    }
+                } catch (RuntimeException ex) {
+                    reject(out, totals, lineNo, "Unparseable row: " + ex.getMessage());
+                }
+
+                if (chunk.size() == batchSize) {
+                    writeChunk(chunk, knownUsers, totals, out);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, knownUsers, totals, out);
+        } catch (RuntimeException ex) {
+            // e.g. database or User Service down: chunks reported in progress events stay committed
+            done(out, totals, "Import stopped at line " + lineNo
+                    + ", rows after the last progress event were not imported: " + ex.getMessage());
+            return;
+        }
+        done(out, totals, null);
+    }
+
+    private void writeChunk(List<Row> chunk, Cache<Long, Boolean> knownUsers,
+                            Totals totals, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // STEP 1 → validate the chunk's users in bulk
+        Set<Long> existing = existingUsers(chunk.stream().map(r -> r.request().getUserId()).toList(), knownUsers);
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            Long userId = row.request().getUserId();
+            if (existing.contains(userId)) {
+                valid.add(row);
+            } else {
+                reject(out, totals, row.line(), "User " + userId + " does not exist in User Service");
+            }
+        }
+
+        // STEP 2 → one transaction, one COPY for the whole chunk
+        if (!valid.isEmpty()) {
+            // observed as accounts.import.insert: timer + span per chunk (ids, COPY, commit)
+            Observation.createNotStarted("accounts.import.insert", observationRegistry)
+                    .highCardinalityKeyValue("rows", String.valueOf(valid.size()))
+                    .observe(() -> transactionTemplate.executeWithoutResult(status -> insert(valid)));
+            totals.imported += valid.size();
+        }
+
+        write(out, ImportEvent.builder()
+                .type("progress")
+                .rowsRead(totals.rowsRead)
+                .imported(totals.imported)
+                .rejected(totals.rejected)
+                .build());
+        out.flush();
+    }
+
+    /**
+     * Which of the user ids exist, decided from the User Service answers for
+     * this chunk. knownUsers is only a hint that saves calls for ids seen in
+     * earlier chunks: it is bounded and may evict an entry right after the
+     * put, so the answer never depends on reading it back.
+     */
+    Set<Long> existingUsers(List<Long> userIds, Cache<Long, Boolean> knownUsers) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(userIds)) {
+            Boolean known = knownUsers.getIfPresent(id);
+            if (known == null) {
+                unknown.add(id);
+            } else if (known) {
+                existing.add(id);
+            }
+        }
+        for (int from = 0; from < unknown.size(); from += VALIDATE_BATCH) {
+            List<Long> ids = unknown.subList(from, Math.min(from + VALIDATE_BATCH, unknown.size()));
+            Set<Long> found = new HashSet<>(userClient.existingUserIds(ids));
+            existing.addAll(found);
+            ids.forEach(id -> knownUsers.put(id, found.contains(id)));
+        }
+        return existing;
+    }
+
+    private void insert(List<Row> rows) {
+        long[] ids = allocateIds(rows.size());
+        Instant now = Instant.now();
+        Connection con = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (con.isWrapperFor(PGConnection.class)) {
+                StringBuilder csv = new StringBuilder(rows.size() * 64);
+                for (int i = 0; i < rows.size(); i++) {
+                    CreateAccountRequest r = rows.get(i).request();
+                    boolean loan = r.getAccountType() == AccountType.LOAN;
+                    // unquoted empty field = NULL
+                    csv.append(ids[i]).append(',')
+                            .append(r.getUserId()).append(',')
+                            .append(r.getAccountType().name()).append(',')
+                            .append(r.getInitialDeposit().toPlainString()).append(',')
+                            .append(initialStatus(r.getAccountType()).name()).append(',')
+                            .append(now).append(',')
+                            .append(loan ? r.getInitialDeposit().toPlainString() : "").append(',')
+                            .append(r.getAnnualInterestRate() == null ? "" : r.getAnnualInterestRate().toPlainString()).append(',')
+                            .append(r.getTenureMonths() == null ? "" : r.getTenureMonths().toString()).append('\n');
+                }
+                con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } else {
+                Timestamp createdAt = Timestamp.from(now);
+                int[] index = {0};
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+                    CreateAccountRequest r = row.request();
+                    ps.setLong(1, ids[index[0]++]);
+                    ps.setLong(2, r.getUserId());
+                    ps.setString(3, r.getAccountType().name());
+                    ps.setBigDecimal(4, r.getInitialDeposit());
+                    ps.setString(5, initialStatus(r.getAccountType()).name());
+                    ps.setTimestamp(6, createdAt);
+                    ps.setObject(7, r.getAccountType() == AccountType.LOAN ? r.getInitialDeposit().doubleValue() : null, Types.DOUBLE);
+                    ps.setBigDecimal(8, r.getAnnualInterestRate());
+                    ps.setObject(9, r.getTenureMonths(), Types.INTEGER);
+                });
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("COPY into accounts failed: " + ex.getMessage(), ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            DataSourceUtils.releaseConnection(con, dataSource);
+        }
+    }
+
+    // nextval → hi, block is (hi - ID_BLOCK, hi]
+    private long[] allocateIds(int count) {
+        int blocks = (count + ID_BLOCK - 1) / ID_BLOCK;
+        List<Long> his = jdbcTemplate.queryForList(
+                "SELECT nextval('accounts_seq') FROM generate_series(1, ?)", Long.class, blocks);
+        long[] ids = new long[count];
+        int i = 0;
+        for (long hi : his) {
+            for (long id = hi - ID_BLOCK + 1; id <= hi && i < count; id++) {
+                ids[i++] = id;
+            }
+        }
+        return ids;
+    }
+
+    // same rule as createAccount
+    private static LoanStatus initialStatus(AccountType type) {
+        return type == AccountType.LOAN ? LoanStatus.NEW : LoanStatus.ACTIVE;
+    }
+
+    static String check(CreateAccountRequest r) {
+        if (r == null || r.getUserId() == null || r.getAccountType() == null || r.getInitialDeposit() == null) {
+            return "userId, accountType and initialDeposit are required";
+        }
+        if (r.getInitialDeposit().signum() < 0) {
+            return "initialDeposit must not be negative";
+        }
+        return LoanScheduleService.checkLoanTerms(r);
+    }
+
+    // header → positions of userId, accountType, initialDeposit and the optional
+    // annualInterestRate, tenureMonths (any order, case-insensitive; -1 = absent)
+    static int[] csvColumns(String header) {
+        if (header == null) {
+            return null;
+        }
+        String[] names = header.split(",", -1);
+        int[] columns = {-1, -1, -1, -1, -1};
+        for (int i = 0; i < names.length; i++) {
+            switch (names[i].trim().toLowerCase(Locale.ROOT)) {
+                case "userid" -> columns[0] = i;
+                case "accounttype" -> columns[1] = i;
+                case "initialdeposit" -> columns[2] = i;
+                case "annualinterestrate" -> columns[3] = i;
+                case "tenuremonths" -> columns[4] = i;
+                default -> { }
+            }
+        }
+        return columns[0] < 0 || columns[1] < 0 || columns[2] < 0 ? null : columns;
+    }
+
+    // fields are numbers and enum names → plain comma split, no quoting
+    static CreateAccountRequest parseCsv(String line, int[] columns) {
+        String[] fields = line.split(",", -1);
+        int needed = 0;
+        for (int column : columns) {
+            needed = Math.max(needed, column + 1);
+        }
+        if (fields.length < needed) {
+            throw new IllegalArgumentException("expected " + needed + " fields, got " + fields.length);
+        }
+        CreateAccountRequest r = new CreateAccountRequest();
+        r.setUserId(Long.valueOf(fields[columns[0]].trim()));
+        r.setAccountType(AccountType.valueOf(fields[columns[1]].trim().toUpperCase(Locale.ROOT)));
+        r.setInitialDeposit(new BigDecimal(fields[columns[2]].trim()));
+        if (columns[3] >= 0 && !fields[columns[3]].isBlank()) {
+            r.setAnnualInterestRate(new BigDecimal(fields[columns[3]].trim()));
+        }
+        if (columns[4] >= 0 && !fields[columns[4]].isBlank()) {
+            r.setTenureMonths(Integer.valueOf(fields[columns[4]].trim()));
+        }
+        return r;
+    }
+
+    private void reject(OutputStream out, Totals totals, long line, String message) throws IOException {
+        totals.rejected++;
+        write(out, ImportEvent.builder().type("error").line(line).message(message).build());
+    }
+
+    private void done(OutputStream out, Totals totals, String message) throws IOException {
+        write(out, ImportEvent.builder()
+                .type("done")
+                .message(message)
+                .rowsRead(totals.rowsRead)
+                .imported(totals.imported)
+                .rejected(totals.rejected)
+                .build());
+        out.flush();
+    }
+
+    private void write(OutputStream out, ImportEvent event) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(event));
+        out.write('\n');
+    }
+}
@@ -2,25 +2,37 @@ package com.loan.poc.accountservice.service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.loan.poc.accountservice.cache.AccountCache;
+import com.loan.poc.accountservice.cache.UserValidationCache;
 import com.loan.poc.accountservice.dto.AccountResponse;
 import com.loan.poc.accountservice.dto.CreateAccountRequest;
 import com.loan.poc.accountservice.dto.CreditRequest;
 import com.loan.poc.accountservice.dto.DebitCreditResponse;
 import com.loan.poc.accountservice.dto.DebitRequest;
+import com.loan.poc.accountservice.dto.TransferRequest;
+import com.loan.poc.accountservice.dto.TransferResponse;
 import com.loan.poc.accountservice.dto.UserValidationResponse;
-import com.loan.poc.accountservice.feign.UserClient;
 import com.loan.poc.accountservice.model.Account;
+import com.loan.poc.accountservice.model.AccountTransfer;
 import com.loan.poc.accountservice.dto.AccountType;
 import com.loan.poc.accountservice.dto.LoanStatus;
 import com.loan.poc.accountservice.repository.AccountRepository;
+import com.loan.poc.accountservice.repository.AccountTransferRepository;
+import com.loan.poc.replica.PrimaryReads;
 
 @Service
 public class AccountService {
@@ -29,33 +41,97 @@ public class AccountService {
     private AccountRepository accountRepository;
 
     @Autowired
-    private UserClient userClient;
+    private UserValidationCache userValidationCache;
+
+    @Autowired
+    private AccountTransferRepository accountTransferRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    public static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+
+    @Value("${accounts.page.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${accounts.bulk.max-ids:500}")
+    private int maxBulkIds;
+
+    @Value("${accounts.bulk.max-create:1000}")
+    private int maxBulkCreate;
 
     public ResponseEntity<AccountResponse> createAccount(CreateAccountRequest request) {
         if (request == null
                 || request.getUserId() == null
                 || request.getAccountType() == null
-                || request.getInitialDeposit() == null) {
+                || request.getInitialDeposit() == null
+                || LoanScheduleService.checkLoanTerms(request) != null) {
             return ResponseEntity.badRequest().build();
         }
 
         UserValidationResponse userVal =
-            userClient.validateUser(SecurityContextHolder.getContext()
-                    .getAuthentication().getName()).getBody();
+            userValidationCache.validate(SecurityContextHolder.getContext()
+                    .getAuthentication().getName());
 
-    if (!userVal.isValid()) {
+    if (userVal == null || !userVal.isValid()) {
         throw new RuntimeException("Invalid user - User does not exist in User Service");
     }
 
-        Account account = Account.builder()
+        Account saved = accountRepository.save(toAccount(request));
+
+        AccountResponse response = mapToResponse(saved);
+        accountCache.put(response);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Bulk create in one transaction.
+     * 1. Validate the caller once (same check as createAccount)
+     * 2. saveAll → ids from the pooled sequence, inserts sent in JDBC batches
+     *    of hibernate.jdbc.batch_size rows instead of one statement per row
+     * 3. Cache the new accounts on commit, like createAccount does
+     * Any invalid request rejects the whole batch.
+     */
+    @Transactional
+    public ResponseEntity<List<AccountResponse>> createAccounts(List<CreateAccountRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBulkCreate
+                || requests.stream().anyMatch(r -> r == null
+                        || r.getUserId() == null
+                        || r.getAccountType() == null
+                        || r.getInitialDeposit() == null
+                        || LoanScheduleService.checkLoanTerms(r) != null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        UserValidationResponse userVal =
+            userValidationCache.validate(SecurityContextHolder.getContext()
+                    .getAuthentication().getName());
+
+        if (userVal == null || !userVal.isValid()) {
+            throw new RuntimeException("Invalid user - User does not exist in User Service");
+        }
+
+        List<Account> accounts = requests.stream().map(this::toAccount).toList();
+
+        List<AccountResponse> created = accountRepository.saveAll(accounts).stream()
+                .map(this::mapToResponse)
+                .toList();
+        accountCache.putAllAfterCommit(created);
+        return ResponseEntity.ok(created);
+    }
+
+    // LOAN: initialDeposit is the principal, kept in loanAmount next to the schedule terms
+    private Account toAccount(CreateAccountRequest request) {
+        boolean loan = request.getAccountType() == AccountType.LOAN;
+        return Account.builder()
                 .userId(request.getUserId())
                 .accountType(request.getAccountType())
                 .balance(request.getInitialDeposit())
-                .status(request.getAccountType() == AccountType.LOAN ? LoanStatus.NEW : LoanStatus.ACTIVE)
+                .loanAmount(loan ? request.getInitialDeposit().doubleValue() : null)
+                .annualInterestRate(loan ? request.getAnnualInterestRate() : null)
+                .tenureMonths(loan ? request.getTenureMonths() : null)
+                .status(loan ? LoanStatus.NEW : LoanStatus.ACTIVE)
                 .build();
-        Account saved = accountRepository.save(account);
-
-        return ResponseEntity.ok(mapToResponse(saved));
     }
 
     private AccountResponse mapToResponse(Account saved) {
@@ -68,36 +144,106 @@ public class AccountService {
                 .build();
     }
 
-    public ResponseEntity<AccountResponse> getAccountById(Long id) {
-    return accountRepository.findById(id)
-        .map(acc -> ResponseEntity.ok(mapToResponse(acc)))
+    /**
+     * Read-through AccountCache; debit/credit evict the entry on commit.
+     * fresh=true bypasses the cache: read from the primary database and not
+     * stored, since a put could land after a concurrent debit's eviction and
+     * keep the pre-debit balance cached. Cache misses are loaded from the primary too: a lagging replica could
+     * otherwise put a pre-write balance back right after the eviction.
+     */
+    public ResponseEntity<AccountResponse> getAccountById(Long id, boolean fresh) {
+    if (fresh) {
+        // Strongly consistent read: primary database, cache untouched
+        return PrimaryReads.call(() -> accountRepository.findById(id)).map(this::mapToResponse)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(AccountResponse.builder().status(LoanStatus.ACCOUNT_NOT_FOUND).build()));
+    }
+    return accountCache.get(id, key -> PrimaryReads.call(() -> accountRepository.findById(key))
+            .map(this::mapToResponse).orElse(null))
+        .map(ResponseEntity::ok)
         .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
             .body(AccountResponse.builder().status(LoanStatus.ACCOUNT_NOT_FOUND).build()));
     }
 
-    public ResponseEntity<List<AccountResponse>> getAccountsByUserId(Long userId) {
-        List<AccountResponse> accounts = accountRepository.findByUserId(userId)
-            .stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
-        if (accounts.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-            .body(java.util.Collections.singletonList(
-                AccountResponse.builder().status(LoanStatus.ACCOUNT_NOT_FOUND).build()));
+    /**
+     * Multi-get: all cache misses are loaded with one findAllById query.
+     * Accounts are returned in request order; unknown ids are skipped.
+     * fresh=true reads from the primary database and bypasses the cache
+     * (neither read nor written, see getAccountById).
+     */
+    public ResponseEntity<List<AccountResponse>> getAccountsByIds(List<Long> ids, boolean fresh) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxBulkIds) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Map<Long, AccountResponse> found;
+        if (fresh) {
+            // Strongly consistent read (payLoan balance check): primary database, no cache
+            found = PrimaryReads.call(() -> accountRepository.findAllById(ids)).stream()
+                    .map(this::mapToResponse)
+                    .collect(Collectors.toMap(AccountResponse::getId, Function.identity()));
+        } else {
+            // misses from the primary, same reason as getAccountById
+            found = accountCache.getAll(ids, missing ->
+                    PrimaryReads.call(() -> accountRepository.findAllById(missing)).stream()
+                            .collect(Collectors.toMap(Account::getId, this::mapToResponse)));
         }
+
+        List<AccountResponse> accounts = ids.stream()
+                .distinct()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
         return ResponseEntity.ok(accounts);
     }
 
-    public ResponseEntity<List<AccountResponse>> getAllAccounts() {
-        List<AccountResponse> accounts = accountRepository.findAll()
-            .stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
-        if (accounts.isEmpty()) {
+    /**
+     * One keyset page of a user's accounts (id > afterId, ordered by id).
+     * When more rows exist the id to continue from is returned in the
+     * X-Next-After-Id header.
+     */
+    public ResponseEntity<List<AccountResponse>> getAccountsByUserId(Long userId, Long afterId, int limit) {
+        int pageSize = clampPageSize(limit);
+        List<Account> rows = accountRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, afterId == null ? 0L : afterId, Limit.of(pageSize + 1));
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * One keyset page over all accounts (id > afterId, ordered by id).
+     * Replaces the unbounded findAll(); use /accounts/stream for a full export.
+     */
+    public ResponseEntity<List<AccountResponse>> getAllAccounts(Long afterId, int limit) {
+        int pageSize = clampPageSize(limit);
+        List<Account> rows = accountRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId == null ? 0L : afterId, Limit.of(pageSize + 1));
+        return toPage(rows, pageSize);
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    // rows holds up to pageSize + 1 entries; the extra one only signals a next page
+    private ResponseEntity<List<AccountResponse>> toPage(List<Account> rows, int pageSize) {
+        if (rows.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
             .body(java.util.Collections.singletonList(
                 AccountResponse.builder().status(LoanStatus.ACCOUNT_NOT_FOUND).build()));
         }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AccountResponse> accounts = rows.stream()
+            .limit(pageSize)
+            .map(this::mapToResponse)
+            .collect(Collectors.toList());
+
+        if (hasMore) {
+            return ResponseEntity.ok()
+                .header(NEXT_AFTER_ID_HEADER, String.valueOf(accounts.get(accounts.size() - 1).getId()))
+                .body(accounts);
+        }
         return ResponseEntity.ok(accounts);
     }
 
@@ -105,40 +251,36 @@ public class AccountService {
     /**
      * Debit money from deposit OR loan repayment.
      * Returns DebitCreditResponse instead of plain String.
+     *
+     * The balance check, the update and the LOAN auto-close rule are applied by
+     * a single conditional UPDATE (see AccountRepository#applyDebit), so no
+     * read-modify-write race exists between concurrent EMI postings.
+     * The account is only read back when the update did not apply.
      */
+    @Transactional
     public ResponseEntity<DebitCreditResponse> debit(DebitRequest request) {
 
-        Account acc = accountRepository.findById(request.getAccountId())
-                .orElseThrow(() -> new RuntimeException("Account not found"));
-
-        if (acc.getAccountType() == AccountType.DEPOSIT) {
-            // Deposit account → deduct normally
-            if (acc.getBalance().compareTo(request.getAmount()) < 0) {
-                return ResponseEntity.badRequest()
-                    .body(DebitCreditResponse.builder()
-                        .message("Insufficient balance")
-                        .success(false)
-                        .build());
-            }
-
-            acc.setBalance(acc.getBalance().subtract(request.getAmount()));
+        if (!isPositive(request.getAmount())) {
+            return ResponseEntity.badRequest()
+                .body(DebitCreditResponse.builder()
+                    .message("Amount must be positive")
+                    .success(false)
+                    .build());
         }
 
-        else if (acc.getAccountType() == AccountType.LOAN) {
-            // Loan payment received → reduce outstanding principal
-            BigDecimal newOutstanding = acc.getBalance().subtract(request.getAmount());
+        accountCache.evictAfterCommit(request.getAccountId());
+        if (accountRepository.applyDebit(request.getAccountId(), request.getAmount()) == 0) {
+            // Nothing updated → either missing account or deposit balance too low
+            accountRepository.findById(request.getAccountId())
+                    .orElseThrow(() -> new RuntimeException("Account not found"));
 
-            if (newOutstanding.compareTo(BigDecimal.ZERO) <= 0) {
-                acc.setBalance(BigDecimal.ZERO);
-                acc.setStatus(LoanStatus.CLOSED); // AUTO CLOSE LOAN
-            } else {
-                acc.setBalance(newOutstanding);
-                acc.setStatus(LoanStatus.ACTIVE);
-            }
+            return ResponseEntity.badRequest()
+                .body(DebitCreditResponse.builder()
+                    .message("Insufficient balance")
+                    .success(false)
+                    .build());
         }
 
-        accountRepository.save(acc);
-
         return ResponseEntity.ok(DebitCreditResponse.builder()
                 .message("Amount debited successfully")
                 .success(true)
@@ -148,13 +290,26 @@ public class AccountService {
     /**
      * Credit deposit accounts only.
      * Returns DebitCreditResponse instead of plain String.
+     *
+     * Applied as a single atomic UPDATE restricted to DEPOSIT accounts.
      */
+    @Transactional
     public ResponseEntity<DebitCreditResponse> credit(CreditRequest request) {
 
-        Account acc = accountRepository.findById(request.getAccountId())
-                .orElseThrow(() -> new RuntimeException("Account not found"));
+        if (!isPositive(request.getAmount())) {
+            return ResponseEntity.badRequest()
+                .body(DebitCreditResponse.builder()
+                    .message("Amount must be positive")
+                    .success(false)
+                    .build());
+        }
+
+        accountCache.evictAfterCommit(request.getAccountId());
+        if (accountRepository.creditDeposit(request.getAccountId(), request.getAmount()) == 0) {
+            // Nothing updated → either missing account or not a deposit account
+            accountRepository.findById(request.getAccountId())
+                    .orElseThrow(() -> new RuntimeException("Account not found"));
 
-        if (acc.getAccountType() != AccountType.DEPOSIT) {
             return ResponseEntity.badRequest()
                 .body(DebitCreditResponse.builder()
                     .message("Cannot credit a loan account")
@@ -162,13 +317,101 @@ public class AccountService {
                     .build());
         }
 
-        acc.setBalance(acc.getBalance().add(request.getAmount()));
-        accountRepository.save(acc);
-
         return ResponseEntity.ok(DebitCreditResponse.builder()
                 .message("Amount credited successfully")
                 .success(true)
                 .build());
     }
-}
 
+    /**
+     * Loan repayment in one local transaction:
+     * 1. Validate both accounts exist, have the right types and the same owner
+     * 2. Debit the deposit account (conditional UPDATE, fails on low balance)
+     * 3. Reduce the loan, auto-closing it when fully repaid
+     *
+     * Either both postings commit or neither does. When a reference is given
+     * the transfer is idempotent: a repeat with the same reference is a no-op.
+     */
+    @Transactional
+    public ResponseEntity<TransferResponse> transfer(TransferRequest request) {
+
+        if (request == null
+                || request.getDepositAccountId() == null
+                || request.getLoanAccountId() == null
+                || !isPositive(request.getAmount())) {
+            return transferFailure(HttpStatus.BAD_REQUEST, "Deposit account, loan account and a positive amount are required");
+        }
+
+        Map<Long, Account> accounts = accountRepository
+            .findAllById(List.of(request.getDepositAccountId(), request.getLoanAccountId()))
+            .stream()
+            .collect(Collectors.toMap(Account::getId, a -> a));
+        Account deposit = accounts.get(request.getDepositAccountId());
+        Account loan = accounts.get(request.getLoanAccountId());
+
+        if (deposit == null || loan == null) {
+            return transferFailure(HttpStatus.NOT_FOUND, "Account not found");
+        }
+        if (deposit.getAccountType() != AccountType.DEPOSIT || loan.getAccountType() != AccountType.LOAN) {
+            return transferFailure(HttpStatus.BAD_REQUEST, "Transfer must be from a deposit account to a loan account");
+        }
+        if (!deposit.getUserId().equals(loan.getUserId())) {
+            return transferFailure(HttpStatus.BAD_REQUEST, "Deposit and Loan accounts belong to different users!");
+        }
+
+        // Retried transfer (same reference) → already applied, do not move money again
+        if (request.getReference() != null && accountTransferRepository.existsByReference(request.getReference())) {
+            return ResponseEntity.ok(TransferResponse.builder()
+                    .success(true)
+                    .message("Transfer already applied")
+                    .depositBalance(deposit.getBalance())
+                    .loanBalance(loan.getBalance())
+                    .loanStatus(loan.getStatus())
+                    .build());
+        }
+
+        accountCache.evictAllAfterCommit(List.of(deposit.getId(), loan.getId()));
+
+        if (accountRepository.applyDebit(deposit.getId(), request.getAmount()) == 0) {
+            return transferFailure(HttpStatus.BAD_REQUEST, "Insufficient deposit balance");
+        }
+        accountRepository.applyDebit(loan.getId(), request.getAmount());
+
+        if (request.getReference() != null) {
+            // unique reference → a concurrent duplicate fails and rolls back as a whole
+            accountTransferRepository.saveAndFlush(AccountTransfer.builder()
+                    .reference(request.getReference())
+                    .depositAccountId(deposit.getId())
+                    .loanAccountId(loan.getId())
+                    .amount(request.getAmount())
+                    .build());
+        }
+
+        // Updates cleared the persistence context → re-read both rows in one query
+        Map<Long, Account> after = accountRepository.findAllById(List.of(deposit.getId(), loan.getId()))
+            .stream()
+            .collect(Collectors.toMap(Account::getId, a -> a));
+        Account depositAfter = after.get(deposit.getId());
+        Account loanAfter = after.get(loan.getId());
+
+        return ResponseEntity.ok(TransferResponse.builder()
+                .success(true)
+                .message("Loan EMI paid successfully")
+                .depositBalance(depositAfter.getBalance())
+                .loanBalance(loanAfter.getBalance())
+                .loanStatus(loanAfter.getStatus())
+                .build());
+    }
+
+    private ResponseEntity<TransferResponse> transferFailure(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+            .body(TransferResponse.builder()
+                .success(false)
+                .message(message)
+                .build());
+    }
+
+    private boolean isPositive(BigDecimal amount) {
+        return amount != null && amount.compareTo(BigDecimal.ZERO) > 0;
+    }
+}
@@ -0,0 +1,111 @@
+package com.loan.poc.accountservice.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.loan.poc.accountservice.dto.AccountResponse;
+import com.loan.poc.accountservice.dto.AccountType;
+import com.loan.poc.accountservice.dto.LoanStatus;
+
+import jakarta.annotation.PostConstruct;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams accounts as NDJSON (one AccountResponse per line).
+ *
+ * Rows are read through a server-side database cursor, fetch-size rows at a
+ * time, and each row is written to the response as soon as it is mapped.
+ * Nothing is collected on the heap, so memory stays flat whatever the table size.
+ *
+ * Postgres only uses a cursor when auto-commit is off, hence the read-only
+ * transaction around the query.
+ */
+@Service
+public class AccountStreamService {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, user_id, account_type, balance, status FROM accounts ";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${accounts.stream.fetch-size:500}")
+    private int fetchSize;
+
+    private JdbcTemplate cursorTemplate;
+    private TransactionTemplate readOnlyTx;
+
+    @PostConstruct
+    void init() {
+        cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(fetchSize);
+
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    public void streamAllAccounts(OutputStream out) throws IOException {
+        stream(out, SELECT_COLUMNS + "ORDER BY id");
+    }
+
+    public void streamAccountsByUserId(Long userId, OutputStream out) throws IOException {
+        stream(out, SELECT_COLUMNS + "WHERE user_id = ? ORDER BY id", userId);
+    }
+
+    private void stream(OutputStream target, String sql, Object... args) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(target);
+        int[] written = {0};
+
+        RowCallbackHandler writer = rs -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(mapRow(rs)));
+                out.write('\n');
+                // push every full chunk to the client instead of buffering the export
+                if (++written[0] % fetchSize == 0) {
+                    out.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+
+        try {
+            readOnlyTx.executeWithoutResult(status -> cursorTemplate.query(sql, writer, args));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        out.flush();
+    }
+
+    private AccountResponse mapRow(ResultSet rs) throws SQLException {
+        String type = rs.getString("account_type");
+        String status = rs.getString("status");
+        return AccountResponse.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .accountType(type == null ? null : AccountType.valueOf(type))
+                .balance(rs.getBigDecimal("balance"))
+                .status(status == null ? null : LoanStatus.valueOf(status))
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.loan.poc.accountservice.service;
+
+/**
+ * EMI amortization table of one loan, in fixed point.
+ *
+ * Amounts are longs in paise, the annual rate is a long in millionths
+ * (9.5% = 95_000), so monthly interest is exact integer arithmetic:
+ * balance * rate / 12_000_000, rounded half-up. The table is three long[]
+ * columns (interest, principal, balance after the installment) → no object
+ * per installment.
+ *
+ * Only the EMI closed form P*r*(1+r)^n / ((1+r)^n - 1) is evaluated in double,
+ * once, and rounded up to the paisa; the last installment absorbs the rounding.
+ *
+ * Immutable: reconcile() returns a new schedule; arrays are never written after construction.
+ */
+public final class AmortizationSchedule {
+
+    private static final long MONTHS_MICROS = 12_000_000L;
+
+    private final long principal;
+    private final long rateMicros;
+    private final int tenureMonths;
+    private final long emi;
+    private final long[] interest;
+    private final long[] principalPaid;
+    private final long[] balance;
+    private final int count;
+    // account balance (paise) this table was last reconciled with
+    private final long reconciledBalance;
+    // payments beyond the installments already folded into the table
+    private final long prepaid;
+
+    private AmortizationSchedule(long principal, long rateMicros, int tenureMonths, long emi,
+                                 long[] interest, long[] principalPaid, long[] balance,
+                                 int count, long reconciledBalance, long prepaid) {
+        this.principal = principal;
+        this.rateMicros = rateMicros;
+        this.tenureMonths = tenureMonths;
+        this.emi = emi;
+        this.interest = interest;
+        this.principalPaid = principalPaid;
+        this.balance = balance;
+        this.count = count;
+        this.reconciledBalance = reconciledBalance;
+        this.prepaid = prepaid;
+    }
+
+    /**
+     * Full table for a new loan.
+     */
+    public static AmortizationSchedule compute(long principal, long rateMicros, int tenureMonths) {
+        if (principal <= 0 || rateMicros < 0 || tenureMonths <= 0) {
+            throw new IllegalArgumentException("principal and tenure must be positive, rate not negative");
+        }
+        long emi = emi(principal, rateMicros, tenureMonths);
+        long[] interest = new long[tenureMonths];
+        long[] principalPaid = new long[tenureMonths];
+        long[] balance = new long[tenureMonths];
+        int count = fill(interest, principalPaid, balance, 0, principal, rateMicros, emi, tenureMonths);
+        return new AmortizationSchedule(principal, rateMicros, tenureMonths, emi,
+                interest, principalPaid, balance, count, principal, 0);
+    }
+
+    /**
+     * Brings the table in line with the loan account's balance.
+     *
+     * A debit takes the whole payment off the balance (interest included), so
+     * the balance is the principal minus everything paid, not the principal
+     * still owed. It is compared with the same quantity from the table:
+     * principal - the payments of the installments due - earlier prepayments.
+     *
+     * 1. `elapsed` installments are due already → they stay as they are
+     * 2. Balance below that → the difference was prepaid: the principal owed
+     *    after the due installments drops by it and only the tail from
+     *    installment `elapsed` on is recomputed, the paid part is copied
+     *    - reduceEmi=false → same EMI, fewer installments
+     *    - reduceEmi=true  → same end date, lower EMI
+     * 3. Otherwise (on plan, in arrears, or no installment left) the table is kept
+     */
+    public AmortizationSchedule reconcile(long accountBalance, int elapsed, boolean reduceEmi) {
+        if (accountBalance == reconciledBalance) {
+            return this;
+        }
+        int paid = Math.max(0, Math.min(elapsed, count));
+        long planned = principal - prepaid;
+        for (int i = 0; i < paid; i++) {
+            planned -= paymentAt(i);
+        }
+        if (accountBalance >= planned || paid == tenureMonths) {
+            return new AmortizationSchedule(principal, rateMicros, tenureMonths, emi,
+                    interest, principalPaid, balance, count, accountBalance, prepaid);
+        }
+
+        long extra = planned - accountBalance;
+        long owed = Math.max(0, (paid == 0 ? principal : balance[paid - 1]) - extra);
+
+        long[] newInterest = new long[tenureMonths];
+        long[] newPrincipalPaid = new long[tenureMonths];
+        long[] newBalance = new long[tenureMonths];
+        System.arraycopy(interest, 0, newInterest, 0, paid);
+        System.arraycopy(principalPaid, 0, newPrincipalPaid, 0, paid);
+        System.arraycopy(balance, 0, newBalance, 0, paid);
+
+        int remaining = tenureMonths - paid;
+        long newEmi = reduceEmi && owed > 0 ? emi(owed, rateMicros, remaining) : emi;
+        int newCount = fill(newInterest, newPrincipalPaid, newBalance, paid,
+                owed, rateMicros, newEmi, remaining);
+        return new AmortizationSchedule(principal, rateMicros, tenureMonths, newEmi,
+                newInterest, newPrincipalPaid, newBalance, newCount, accountBalance, prepaid + extra);
+    }
+
+    /**
+     * Monthly installment in paise, rounded up so the loan is repaid within `months`.
+     */
+    public static long emi(long principal, long rateMicros, int months) {
+        if (rateMicros == 0) {
+            return (principal + months - 1) / months;
+        }
+        double r = (double) rateMicros / MONTHS_MICROS;
+        double growth = Math.pow(1 + r, months);
+        return (long) Math.ceil(principal * r * growth / (growth - 1));
+    }
+
+    // rows [from, from + maxPeriods) from `outstanding`; returns the new row count
+    private static int fill(long[] interest, long[] principalPaid, long[] balance, int from,
+                            long outstanding, long rateMicros, long emi, int maxPeriods) {
+        long remaining = outstanding;
+        int last = from + maxPeriods - 1;
+        int i = from;
+        while (remaining > 0 && i <= last) {
+            long monthInterest = monthlyInterest(remaining, rateMicros);
+            long repaid = i == last ? remaining : Math.min(Math.max(emi - monthInterest, 0), remaining);
+            remaining -= repaid;
+            interest[i] = monthInterest;
+            principalPaid[i] = repaid;
+            balance[i] = remaining;
+            i++;
+        }
+        return i;
+    }
+
+    // balance * annual rate / 12, half-up
+    static long monthlyInterest(long balance, long rateMicros) {
+        return (Math.multiplyExact(balance, rateMicros) + MONTHS_MICROS / 2) / MONTHS_MICROS;
+    }
+
+    public long principal() {
+        return principal;
+    }
+
+    public long rateMicros() {
+        return rateMicros;
+    }
+
+    public int tenureMonths() {
+        return tenureMonths;
+    }
+
+    public long emi() {
+        return emi;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long interestAt(int i) {
+        return interest[i];
+    }
+
+    public long principalAt(int i) {
+        return principalPaid[i];
+    }
+
+    public long paymentAt(int i) {
+        return interest[i] + principalPaid[i];
+    }
+
+    public long balanceAt(int i) {
+        return balance[i];
+    }
+
+    public long totalInterest() {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += interest[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,160 @@
+package com.loan.poc.accountservice.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.loan.poc.accountservice.cache.AccountCache;
+import com.loan.poc.accountservice.dto.BatchPostingRequest;
+import com.loan.poc.accountservice.dto.BatchPostingResponse;
+import com.loan.poc.accountservice.dto.PostingInstruction;
+import com.loan.poc.accountservice.dto.PostingResult;
+import com.loan.poc.accountservice.dto.PostingType;
+import com.loan.poc.accountservice.model.Account;
+import com.loan.poc.accountservice.repository.AccountRepository;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Applies a list of debit/credit instructions in one transaction.
+ *
+ * 1. All touched accounts are read (and row-locked) with multi-id queries
+ * 2. Instructions are applied in request order on in-memory ledgers
+ * 3. Every changed account is written once, as one JDBC batch
+ *
+ * A rejected instruction (unknown account, insufficient balance, ...) does not
+ * fail the batch; it is reported in its own PostingResult.
+ */
+@Service
+public class BatchPostingService {
+
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE accounts SET balance = ?, status = ? WHERE id = ?";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Value("${accounts.batch.max-postings:50000}")
+    private int maxPostings;
+
+    @Value("${accounts.batch.read-chunk-size:1000}")
+    private int readChunkSize;
+
+    @Value("${accounts.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @Transactional
+    public ResponseEntity<BatchPostingResponse> postBatch(BatchPostingRequest request) {
+        if (request == null || request.getPostings() == null || request.getPostings().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<PostingInstruction> postings = request.getPostings();
+        if (postings.size() > maxPostings) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        Map<Long, PostingLedger> ledgers = loadLedgers(postings);
+
+        List<PostingResult> results = new ArrayList<>(postings.size());
+        int succeeded = 0;
+        for (int i = 0; i < postings.size(); i++) {
+            PostingInstruction p = postings.get(i);
+            String rejection = apply(p, ledgers);
+            if (rejection == null) {
+                succeeded++;
+            }
+            results.add(PostingResult.builder()
+                    .index(i)
+                    .accountId(p.getAccountId())
+                    .success(rejection == null)
+                    .message(rejection == null
+                            ? (p.getType() == PostingType.CREDIT ? PostingLedger.CREDITED : PostingLedger.DEBITED)
+                            : rejection)
+                    .build());
+        }
+
+        List<PostingLedger> changed = ledgers.values().stream()
+                .filter(PostingLedger::isChanged)
+                .toList();
+        accountCache.evictAllAfterCommit(changed.stream().map(PostingLedger::getAccountId).toList());
+
+        List<Object[]> updates = changed.stream()
+                .map(l -> new Object[] { l.getBalance(),
+                        l.getStatus() == null ? null : l.getStatus().name(), l.getAccountId() })
+                .toList();
+        // observed as accounts.batch.write: timer + span over all balance UPDATE batches
+        Observation.createNotStarted("accounts.batch.write", observationRegistry)
+                .highCardinalityKeyValue("rows", String.valueOf(updates.size()))
+                .observe(() -> {
+                    for (int from = 0; from < updates.size(); from += jdbcBatchSize) {
+                        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL,
+                                updates.subList(from, Math.min(from + jdbcBatchSize, updates.size())));
+                    }
+                });
+
+        return ResponseEntity.ok(BatchPostingResponse.builder()
+                .total(postings.size())
+                .succeeded(succeeded)
+                .failed(postings.size() - succeeded)
+                .results(results)
+                .build());
+    }
+
+    private Map<Long, PostingLedger> loadLedgers(List<PostingInstruction> postings) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (PostingInstruction p : postings) {
+            if (p != null && p.getAccountId() != null) {
+                ids.add(p.getAccountId());
+            }
+        }
+
+        List<Long> sorted = ids.stream().sorted().toList();
+        Map<Long, PostingLedger> ledgers = new HashMap<>(sorted.size() * 2);
+        for (int from = 0; from < sorted.size(); from += readChunkSize) {
+            List<Long> chunk = sorted.subList(from, Math.min(from + readChunkSize, sorted.size()));
+            for (Account acc : accountRepository.findAllByIdForUpdate(chunk)) {
+                ledgers.put(acc.getId(), new PostingLedger(acc));
+            }
+        }
+        return ledgers;
+    }
+
+    /**
+     * @return null if applied, otherwise the rejection message
+     */
+    private String apply(PostingInstruction p, Map<Long, PostingLedger> ledgers) {
+        if (p == null || p.getAccountId() == null || p.getType() == null) {
+            return "Account id and posting type are required";
+        }
+        if (p.getAmount() == null || p.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Amount must be positive";
+        }
+        PostingLedger ledger = ledgers.get(p.getAccountId());
+        if (ledger == null) {
+            return "Account not found";
+        }
+        return p.getType() == PostingType.CREDIT ? ledger.credit(p.getAmount()) : ledger.debit(p.getAmount());
+    }
+}
@@ -0,0 +1,159 @@
+package com.loan.poc.accountservice.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loan.poc.accountservice.dto.AccountType;
+import com.loan.poc.accountservice.dto.CreateAccountRequest;
+import com.loan.poc.accountservice.dto.InstallmentResponse;
+import com.loan.poc.accountservice.dto.LoanScheduleResponse;
+import com.loan.poc.accountservice.model.Account;
+import com.loan.poc.accountservice.repository.AccountRepository;
+
+/**
+ * EMI schedules for LOAN accounts (GET /accounts/{id}/schedule).
+ *
+ * 1. Load the account (current balance = loan amount minus everything paid:
+ *    a debit takes the whole EMI, interest included)
+ * 2. Cached AmortizationSchedule for the account, computed on first request
+ * 3. Balance differs from the one the schedule was built against → reconcile
+ *    against the scheduled payments due so far: paying more than them (a
+ *    prepayment) recomputes only the installments not yet due; regular EMIs
+ *    or arrears keep the table
+ *
+ * Debits need no hook: the next read sees the new balance and rebases then,
+ * so the posting path does no schedule work.
+ */
+@Service
+public class LoanScheduleService {
+
+    // percent → millionths of one: 9.5 → 95_000
+    private static final int RATE_MICROS_SCALE = 4;
+
+    private static final int MAX_TENURE_MONTHS = 600;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${accounts.schedule.prepayment:reduce-tenure}")
+    private String prepaymentMode;
+
+    private final Cache<Long, AmortizationSchedule> schedules;
+
+    public LoanScheduleService(@Value("${accounts.schedule.cache.max-size:10000}") long maxSize) {
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * @return null when the LOAN terms of a create request are usable (or absent), else the problem
+     */
+    public static String checkLoanTerms(CreateAccountRequest r) {
+        if (r.getAnnualInterestRate() == null && r.getTenureMonths() == null) {
+            return null;
+        }
+        if (r.getAccountType() != AccountType.LOAN) {
+            return "annualInterestRate and tenureMonths apply to LOAN accounts only";
+        }
+        if (r.getAnnualInterestRate() == null || r.getTenureMonths() == null) {
+            return "annualInterestRate and tenureMonths go together";
+        }
+        if (r.getAnnualInterestRate().signum() < 0
+                || r.getAnnualInterestRate().compareTo(BigDecimal.valueOf(100)) > 0
+                || r.getAnnualInterestRate().stripTrailingZeros().scale() > RATE_MICROS_SCALE) {
+            return "annualInterestRate must be 0-100 with at most 4 decimals";
+        }
+        if (r.getTenureMonths() < 1 || r.getTenureMonths() > MAX_TENURE_MONTHS) {
+            return "tenureMonths must be 1-" + MAX_TENURE_MONTHS;
+        }
+        return null;
+    }
+
+    public ResponseEntity<?> getSchedule(Long accountId) {
+        Account account = accountRepository.findById(accountId).orElse(null);
+        if (account == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (account.getAccountType() != AccountType.LOAN) {
+            return ResponseEntity.badRequest().body("Not a LOAN account");
+        }
+        if (account.getLoanAmount() == null || account.getLoanAmount() <= 0
+                || account.getAnnualInterestRate() == null || account.getTenureMonths() == null) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body("Loan terms (loanAmount, annualInterestRate, tenureMonths) are not set");
+        }
+
+        LocalDate start = LocalDate.ofInstant(
+                account.getCreatedAt() == null ? Instant.now() : account.getCreatedAt(), ZoneOffset.UTC);
+        long balance = toPaise(account.getBalance());
+
+        AmortizationSchedule cached = schedules.get(accountId, id -> AmortizationSchedule.compute(
+                toPaise(BigDecimal.valueOf(account.getLoanAmount())),
+                account.getAnnualInterestRate().movePointRight(RATE_MICROS_SCALE).longValueExact(),
+                account.getTenureMonths()));
+        AmortizationSchedule schedule = cached.reconcile(balance,
+                installmentsDue(start, LocalDate.now(ZoneOffset.UTC)), "reduce-emi".equals(prepaymentMode));
+        if (schedule != cached) {
+            schedules.put(accountId, schedule);
+        }
+
+        return ResponseEntity.ok(toResponse(accountId, account.getAnnualInterestRate(), start, balance, schedule));
+    }
+
+    // installment i (1-based) is due on start + i months
+    private static int installmentsDue(LocalDate start, LocalDate today) {
+        long months = ChronoUnit.MONTHS.between(start, today);
+        if (!start.plusMonths(months + 1).isAfter(today)) {
+            months++;
+        }
+        return (int) Math.max(0, months);
+    }
+
+    private static LoanScheduleResponse toResponse(Long accountId, BigDecimal rate, LocalDate start,
+                                                   long outstanding, AmortizationSchedule s) {
+        List<InstallmentResponse> installments = new ArrayList<>(s.size());
+        for (int i = 0; i < s.size(); i++) {
+            installments.add(InstallmentResponse.builder()
+                    .number(i + 1)
+                    .dueDate(start.plusMonths(i + 1))
+                    .payment(toAmount(s.paymentAt(i)))
+                    .principal(toAmount(s.principalAt(i)))
+                    .interest(toAmount(s.interestAt(i)))
+                    .balance(toAmount(s.balanceAt(i)))
+                    .build());
+        }
+        return LoanScheduleResponse.builder()
+                .accountId(accountId)
+                .principal(toAmount(s.principal()))
+                .annualInterestRate(rate)
+                .tenureMonths(s.tenureMonths())
+                .emi(toAmount(s.emi()))
+                .outstanding(toAmount(outstanding))
+                .totalInterest(toAmount(s.totalInterest()))
+                .installments(installments)
+                .build();
+    }
+
+    private static long toPaise(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toAmount(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+}
@@ -0,0 +1,95 @@
+package com.loan.poc.accountservice.service;
+
+import java.math.BigDecimal;
+
+import com.loan.poc.accountservice.dto.AccountType;
+import com.loan.poc.accountservice.dto.LoanStatus;
+import com.loan.poc.accountservice.model.Account;
+
+/**
+ * In-memory working copy of one account's balance, used by the posting paths
+ * that apply many postings on a single read (sharded mode, batch endpoint).
+ *
+ * Applies exactly the rules of AccountService#debit / #credit:
+ * - DEPOSIT debit needs sufficient balance
+ * - LOAN debit reduces outstanding principal, auto-closing at zero
+ * - only DEPOSIT accounts can be credited
+ */
+class PostingLedger {
+
+    static final String DEBITED = "Amount debited successfully";
+    static final String CREDITED = "Amount credited successfully";
+    static final String INSUFFICIENT_BALANCE = "Insufficient balance";
+    static final String CANNOT_CREDIT_LOAN = "Cannot credit a loan account";
+
+    private final Long accountId;
+    private final AccountType accountType;
+    private final BigDecimal openingBalance;
+    private BigDecimal balance;
+    private LoanStatus status;
+    private boolean changed;
+
+    PostingLedger(Account acc) {
+        this.accountId = acc.getId();
+        this.accountType = acc.getAccountType();
+        this.openingBalance = acc.getBalance();
+        this.balance = acc.getBalance();
+        this.status = acc.getStatus();
+    }
+
+    /**
+     * @return null if applied, otherwise the rejection message
+     */
+    String debit(BigDecimal amount) {
+        if (accountType == AccountType.LOAN) {
+            // Loan payment received → reduce outstanding principal
+            BigDecimal newOutstanding = balance.subtract(amount);
+            if (newOutstanding.compareTo(BigDecimal.ZERO) <= 0) {
+                balance = BigDecimal.ZERO;
+                status = LoanStatus.CLOSED; // AUTO CLOSE LOAN
+            } else {
+                balance = newOutstanding;
+                status = LoanStatus.ACTIVE;
+            }
+        } else {
+            if (balance.compareTo(amount) < 0) {
+                return INSUFFICIENT_BALANCE;
+            }
+            balance = balance.subtract(amount);
+        }
+        changed = true;
+        return null;
+    }
+
+    /**
+     * @return null if applied, otherwise the rejection message
+     */
+    String credit(BigDecimal amount) {
+        if (accountType != AccountType.DEPOSIT) {
+            return CANNOT_CREDIT_LOAN;
+        }
+        balance = balance.add(amount);
+        changed = true;
+        return null;
+    }
+
+    Long getAccountId() {
+        return accountId;
+    }
+
+    BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    BigDecimal getBalance() {
+        return balance;
+    }
+
+    LoanStatus getStatus() {
+        return status;
+    }
+
+    boolean isChanged() {
+        return changed;
+    }
+}
@@ -0,0 +1,285 @@
+package com.loan.poc.accountservice.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.loan.poc.accountservice.cache.AccountCache;
+import com.loan.poc.accountservice.dto.CreditRequest;
+import com.loan.poc.accountservice.dto.DebitCreditResponse;
+import com.loan.poc.accountservice.dto.DebitRequest;
+import com.loan.poc.accountservice.dto.PostingStatsResponse;
+import com.loan.poc.accountservice.model.Account;
+import com.loan.poc.accountservice.repository.AccountRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional single-writer posting path (accounts.posting.mode=sharded).
+ *
+ * Every debit/credit is routed by account id to one of N shard workers.
+ * A worker drains its queue, groups the postings per account, applies them
+ * in arrival order on one read of the account, and writes the net result
+ * with a single compare-and-set UPDATE. Only then are the callers answered.
+ *
+ * Business rules are the same as AccountService#debit / #credit (see PostingLedger).
+ * The compare-and-set keeps this safe next to other writers (direct path,
+ * other nodes): on conflict the group is re-read and re-applied, at most
+ * accounts.posting.max-attempts times → then the group is answered 409.
+ *
+ * Callers wait at most accounts.posting.timeout; on shutdown every queued
+ * posting is answered 503 so no request thread is left waiting.
+ */
+@Service
+@ConditionalOnProperty(name = "accounts.posting.mode", havingValue = "sharded")
+public class ShardedPostingService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Value("${accounts.posting.shards:8}")
+    private int shardCount;
+
+    @Value("${accounts.posting.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${accounts.posting.max-batch:256}")
+    private int maxBatch;
+
+    @Value("${accounts.posting.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${accounts.posting.timeout:5s}")
+    private Duration timeout;
+
+    private List<BlockingQueue<Posting>> queues;
+    private List<Thread> workers;
+    private volatile boolean running;
+
+    private final AtomicLong postings = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+
+    /** One queued debit or credit together with the caller's pending response. */
+    private record Posting(Long accountId, BigDecimal amount, boolean credit,
+                           CompletableFuture<ResponseEntity<DebitCreditResponse>> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        queues = new ArrayList<>(shardCount);
+        workers = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            BlockingQueue<Posting> queue = new LinkedBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            Thread worker = new Thread(() -> runShard(queue), "posting-shard-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        queues.forEach(this::failQueued);
+    }
+
+    // no worker takes from the queue any more → answer its postings here
+    private void failQueued(BlockingQueue<Posting> queue) {
+        List<Posting> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(p -> p.result().complete(unavailable("Posting service shutting down, retry later")));
+    }
+
+    public ResponseEntity<DebitCreditResponse> debit(DebitRequest request) {
+        return submit(request.getAccountId(), request.getAmount(), false);
+    }
+
+    public ResponseEntity<DebitCreditResponse> credit(CreditRequest request) {
+        return submit(request.getAccountId(), request.getAmount(), true);
+    }
+
+    public PostingStatsResponse stats() {
+        List<Integer> depths = queues.stream().map(BlockingQueue::size).toList();
+        long p = postings.get();
+        long w = writes.get();
+        return PostingStatsResponse.builder()
+                .shards(shardCount)
+                .queueDepths(depths)
+                .totalQueueDepth(depths.stream().mapToInt(Integer::intValue).sum())
+                .postings(p)
+                .writes(w)
+                .coalescingRatio(w == 0 ? 0.0 : (double) p / w)
+                .conflicts(conflicts.get())
+                .build();
+    }
+
+    private ResponseEntity<DebitCreditResponse> submit(Long accountId, BigDecimal amount, boolean credit) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            return failure("Amount must be positive");
+        }
+
+        if (!running) {
+            return unavailable("Posting service shutting down, retry later");
+        }
+        Posting posting = new Posting(accountId, amount, credit, new CompletableFuture<>());
+        BlockingQueue<Posting> queue = queues.get(Math.floorMod(accountId.hashCode(), shardCount));
+        if (!queue.offer(posting)) {
+            return unavailable("Posting queue full, retry later");
+        }
+        if (!running) {
+            // stop() may have drained this queue before the offer landed → drain it again
+            failQueued(queue);
+        }
+
+        try {
+            return posting.result().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof TimeoutException) {
+                // still queued or being written → it may yet be applied
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body(DebitCreditResponse.builder()
+                        .message("Posting not confirmed in time, check the balance before retrying")
+                        .success(false)
+                        .build());
+            }
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw ex;
+        }
+    }
+
+    private void runShard(BlockingQueue<Posting> queue) {
+        List<Posting> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+
+            // Group per account, keeping arrival order inside each account
+            Map<Long, List<Posting>> byAccount = new LinkedHashMap<>();
+            for (Posting p : batch) {
+                byAccount.computeIfAbsent(p.accountId(), id -> new ArrayList<>()).add(p);
+            }
+            byAccount.forEach(this::applyGroup);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Applies all postings of one account with one read and at most one write,
+     * retrying the whole group if the balance changed underneath.
+     */
+    private void applyGroup(Long accountId, List<Posting> group) {
+        List<ResponseEntity<DebitCreditResponse>> results = null;
+        try {
+            for (int attempt = 0; results == null && attempt < maxAttempts; attempt++) {
+                results = transactionTemplate.execute(status -> tryApply(accountId, group));
+            }
+        } catch (RuntimeException ex) {
+            group.forEach(p -> p.result().completeExceptionally(ex));
+            return;
+        }
+        if (results == null) {
+            ResponseEntity<DebitCreditResponse> conflict = ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(DebitCreditResponse.builder()
+                    .message("Account is under heavy concurrent update, retry later")
+                    .success(false)
+                    .build());
+            group.forEach(p -> p.result().complete(conflict));
+            return;
+        }
+
+        postings.addAndGet(group.size());
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).result().complete(results.get(i));
+        }
+    }
+
+    /**
+     * @return one response per posting, or null on a compare-and-set conflict
+     */
+    private List<ResponseEntity<DebitCreditResponse>> tryApply(Long accountId, List<Posting> group) {
+        Account acc = accountRepository.findById(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+
+        PostingLedger ledger = new PostingLedger(acc);
+        List<ResponseEntity<DebitCreditResponse>> results = new ArrayList<>(group.size());
+
+        for (Posting p : group) {
+            String rejection = p.credit() ? ledger.credit(p.amount()) : ledger.debit(p.amount());
+            if (rejection != null) {
+                results.add(failure(rejection));
+            } else {
+                results.add(success(p.credit() ? PostingLedger.CREDITED : PostingLedger.DEBITED));
+            }
+        }
+
+        if (ledger.isChanged()) {
+            if (accountRepository.compareAndSetBalance(accountId, ledger.getOpeningBalance(),
+                    ledger.getBalance(), ledger.getStatus()) == 0) {
+                conflicts.incrementAndGet();
+                return null;
+            }
+            writes.incrementAndGet();
+            accountCache.evictAfterCommit(accountId);
+        }
+        return results;
+    }
+
+    private ResponseEntity<DebitCreditResponse> success(String message) {
+        return ResponseEntity.ok(DebitCreditResponse.builder()
+                .message(message)
+                .success(true)
+                .build());
+    }
+
+    private ResponseEntity<DebitCreditResponse> unavailable(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(DebitCreditResponse.builder()
+                .message(message)
+                .success(false)
+                .build());
+    }
+
+    private ResponseEntity<DebitCreditResponse> failure(String message) {
+        return ResponseEntity.badRequest()
+            .body(DebitCreditResponse.builder()
+                .message(message)
+                .success(false)
+                .build());
+    }
+}
@@ -0,0 +1,121 @@
+package com.loan.poc.accountservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loan.poc.accountservice.dto.AccountType;
+import com.loan.poc.accountservice.dto.CreateAccountRequest;
+import com.loan.poc.accountservice.feign.UserClient;
+
+/**
+ * Row parsing and checks of the bulk import, and the per-chunk user check
+ * when the known-users cache drops entries.
+ */
+class AccountImportServiceTest {
+
+    private static final int[] COLUMNS = AccountImportService.csvColumns(
+            "userId,accountType,initialDeposit,annualInterestRate,tenureMonths");
+
+    @Test
+    void headerColumnsInAnyOrderAndCase() {
+        assertArrayEquals(new int[] {2, 0, 1, -1, -1},
+                AccountImportService.csvColumns("ACCOUNTTYPE, initialDeposit ,userid,note"));
+    }
+
+    @Test
+    void headerWithoutRequiredColumnIsRejected() {
+        assertNull(AccountImportService.csvColumns("userId,accountType"));
+        assertNull(AccountImportService.csvColumns(null));
+    }
+
+    @Test
+    void parsesDepositRowWithEmptyLoanTerms() {
+        CreateAccountRequest r = AccountImportService.parseCsv(" 7 ,deposit,1500.50,,", COLUMNS);
+
+        assertEquals(7L, r.getUserId());
+        assertEquals(AccountType.DEPOSIT, r.getAccountType());
+        assertEquals(new BigDecimal("1500.50"), r.getInitialDeposit());
+        assertNull(r.getAnnualInterestRate());
+        assertNull(r.getTenureMonths());
+        assertNull(AccountImportService.check(r));
+    }
+
+    @Test
+    void parsesLoanRow() {
+        CreateAccountRequest r = AccountImportService.parseCsv("7,LOAN,500000,9.5,240", COLUMNS);
+
+        assertEquals(new BigDecimal("9.5"), r.getAnnualInterestRate());
+        assertEquals(240, r.getTenureMonths());
+        assertNull(AccountImportService.check(r));
+    }
+
+    @Test
+    void shortOrMalformedRowsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> AccountImportService.parseCsv("7,DEPOSIT", COLUMNS));
+        assertThrows(IllegalArgumentException.class, () -> AccountImportService.parseCsv("x,DEPOSIT,10,,", COLUMNS));
+        assertThrows(IllegalArgumentException.class, () -> AccountImportService.parseCsv("7,GOLD,10,,", COLUMNS));
+    }
+
+    @Test
+    void checkRejectsMissingFieldsNegativeDepositAndBadLoanTerms() {
+        assertEquals("userId, accountType and initialDeposit are required", AccountImportService.check(null));
+        CreateAccountRequest noDeposit = new CreateAccountRequest();
+        noDeposit.setUserId(7L);
+        noDeposit.setAccountType(AccountType.DEPOSIT);
+        assertEquals("userId, accountType and initialDeposit are required", AccountImportService.check(noDeposit));
+        assertEquals("initialDeposit must not be negative",
+                AccountImportService.check(AccountImportService.parseCsv("7,DEPOSIT,-1,,", COLUMNS)));
+        assertEquals("annualInterestRate and tenureMonths apply to LOAN accounts only",
+                AccountImportService.check(AccountImportService.parseCsv("7,DEPOSIT,10,9.5,12", COLUMNS)));
+        assertEquals("annualInterestRate and tenureMonths go together",
+                AccountImportService.check(AccountImportService.parseCsv("7,LOAN,10,9.5,", COLUMNS)));
+    }
+
+    @Test
+    void existingUsersDoesNotDependOnTheCacheKeepingEntries() {
+        UserClient userClient = mock(UserClient.class);
+        when(userClient.existingUserIds(anyList())).thenReturn(List.of(1L, 3L));
+        AccountImportService service = new AccountImportService();
+        ReflectionTestUtils.setField(service, "userClient", userClient);
+        // evicts every entry as soon as it is written
+        Cache<Long, Boolean> knownUsers = Caffeine.newBuilder().maximumSize(0).executor(Runnable::run).build();
+
+        Set<Long> existing = service.existingUsers(List.of(1L, 2L, 3L, 1L), knownUsers);
+
+        assertEquals(Set.of(1L, 3L), existing);
+        verify(userClient).existingUserIds(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void existingUsersSkipsIdsAnsweredInEarlierChunks() {
+        UserClient userClient = mock(UserClient.class);
+        AccountImportService service = new AccountImportService();
+        ReflectionTestUtils.setField(service, "userClient", userClient);
+        Cache<Long, Boolean> knownUsers = Caffeine.newBuilder().build();
+        knownUsers.put(1L, true);
+        knownUsers.put(2L, false);
+
+        Set<Long> existing = service.existingUsers(List.of(1L, 2L), knownUsers);
+
+        assertEquals(Set.of(1L), existing);
+        assertTrue(knownUsers.asMap().containsKey(2L));
+        verify(userClient, never()).existingUserIds(anyList());
+    }
+}
@@ -0,0 +1,101 @@
+package com.loan.poc.accountservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.loan.poc.accountservice.dto.AccountType;
+import com.loan.poc.accountservice.dto.CreditRequest;
+import com.loan.poc.accountservice.dto.DebitRequest;
+import com.loan.poc.accountservice.dto.LoanStatus;
+import com.loan.poc.accountservice.model.Account;
+import com.loan.poc.accountservice.repository.AccountRepository;
+
+/**
+ * Concurrent debits and credits on one hot account lose no update.
+ *
+ * Runs against the configured database, like AccountServiceApplicationTests.
+ * Throughput of the same path is measured by the loadtest module.
+ */
+@SpringBootTest
+class AccountPostingConcurrencyTest {
+
+    private static final int WRITERS = 16;
+    private static final int OPS_PER_WRITER = 100;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+    private static final BigDecimal OPENING = new BigDecimal("1000000.00");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Long accountId;
+
+    @AfterEach
+    void cleanUp() {
+        if (accountId != null) {
+            accountRepository.deleteById(accountId);
+        }
+    }
+
+    @Test
+    void concurrentPostingsLoseNoUpdate() throws Exception {
+        accountId = accountRepository.save(Account.builder()
+                .userId(-1L)
+                .accountType(AccountType.DEPOSIT)
+                .balance(OPENING)
+                .status(LoanStatus.ACTIVE)
+                .build()).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_WRITER; i++) {
+                        boolean ok;
+                        if (i % 2 == 0) {
+                            DebitRequest debit = new DebitRequest();
+                            debit.setAccountId(accountId);
+                            debit.setAmount(AMOUNT);
+                            ok = accountService.debit(debit).getStatusCode().is2xxSuccessful();
+                        } else {
+                            CreditRequest credit = new CreditRequest();
+                            credit.setAccountId(accountId);
+                            credit.setAmount(AMOUNT);
+                            ok = accountService.credit(credit).getStatusCode().is2xxSuccessful();
+                        }
+                        assertTrue(ok, "posting rejected");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // equal debits and credits → balance must be unchanged
+        BigDecimal closing = accountRepository.findById(accountId).orElseThrow().getBalance();
+        assertEquals(0, OPENING.compareTo(closing), "lost update: closing balance " + closing);
+    }
+}
@@ -0,0 +1,155 @@
+package com.loan.poc.accountservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * EMI table and reconcile() against the loan account balance, which drops by
+ * the whole payment (interest included) on every debit.
+ */
+class AmortizationScheduleTest {
+
+    private static final long PRINCIPAL = 10_00_000_00L; // 10 lakh in paise
+    private static final long RATE_MICROS = 95_000;      // 9.5%
+    private static final int TENURE = 60;
+    private static final long PREPAYMENT = 1_00_000_00L;
+
+    @Test
+    void computeRepaysThePrincipalWithinTheTenure() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+
+        assertEquals(TENURE, s.size());
+        assertEquals(PRINCIPAL, sumPrincipal(s));
+        assertEquals(0, s.balanceAt(TENURE - 1));
+        assertEquals(AmortizationSchedule.monthlyInterest(PRINCIPAL, RATE_MICROS), s.interestAt(0));
+        for (int i = 0; i < TENURE - 1; i++) {
+            assertEquals(s.emi(), s.paymentAt(i));
+        }
+        assertTrue(s.paymentAt(TENURE - 1) <= s.emi());
+    }
+
+    @Test
+    void zeroRateSplitsThePrincipalEvenly() {
+        AmortizationSchedule s = AmortizationSchedule.compute(1_000, 0, 3);
+
+        assertEquals(334, s.emi());
+        assertEquals(0, s.totalInterest());
+        assertEquals(332, s.paymentAt(2));
+    }
+
+    @Test
+    void regularEmisKeepTheTable() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+
+        for (int paid = 1; paid <= 24; paid++) {
+            AmortizationSchedule r = s.reconcile(balanceAfter(s, paid), paid, false);
+            assertSameTable(s, r);
+        }
+    }
+
+    @Test
+    void arrearsKeepTheTable() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+
+        assertSameTable(s, s.reconcile(balanceAfter(s, 10), 12, false));
+    }
+
+    @Test
+    void unchangedBalanceReturnsTheSameSchedule() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+        AmortizationSchedule r = s.reconcile(balanceAfter(s, 3), 3, false);
+
+        assertSame(r, r.reconcile(balanceAfter(s, 3), 4, false));
+    }
+
+    @Test
+    void prepaymentReducesTenure() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+        AmortizationSchedule r = s.reconcile(balanceAfter(s, 12) - PREPAYMENT, 12, false);
+
+        assertEquals(s.emi(), r.emi());
+        assertTrue(r.size() < TENURE);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(s.paymentAt(i), r.paymentAt(i));
+            assertEquals(s.balanceAt(i), r.balanceAt(i));
+        }
+        // only the prepaid amount comes off the principal owed, not the EMIs again
+        assertEquals(AmortizationSchedule.monthlyInterest(s.balanceAt(11) - PREPAYMENT, RATE_MICROS), r.interestAt(12));
+        assertEquals(PRINCIPAL, sumPrincipal(r) + PREPAYMENT);
+        assertEquals(0, r.balanceAt(r.size() - 1));
+    }
+
+    @Test
+    void prepaymentReducesEmi() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+        AmortizationSchedule r = s.reconcile(balanceAfter(s, 12) - PREPAYMENT, 12, true);
+
+        assertEquals(TENURE, r.size());
+        assertTrue(r.emi() < s.emi());
+        assertEquals(AmortizationSchedule.emi(s.balanceAt(11) - PREPAYMENT, RATE_MICROS, TENURE - 12), r.emi());
+        assertEquals(PRINCIPAL, sumPrincipal(r) + PREPAYMENT);
+    }
+
+    @Test
+    void emisAfterAPrepaymentKeepTheRebasedTable() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+        long balance = balanceAfter(s, 12) - PREPAYMENT;
+        AmortizationSchedule r = s.reconcile(balance, 12, false);
+
+        for (int paid = 13; paid <= 20; paid++) {
+            balance -= r.paymentAt(paid - 1);
+            assertSameTable(r, r.reconcile(balance, paid, false));
+        }
+    }
+
+    @Test
+    void secondPrepaymentCountsOnlyTheNewAmount() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+        long balance = balanceAfter(s, 12) - PREPAYMENT;
+        AmortizationSchedule first = s.reconcile(balance, 12, false);
+        balance -= first.paymentAt(12) + PREPAYMENT;
+        AmortizationSchedule second = first.reconcile(balance, 13, false);
+
+        assertEquals(AmortizationSchedule.monthlyInterest(first.balanceAt(12) - PREPAYMENT, RATE_MICROS),
+                second.interestAt(13));
+        assertEquals(PRINCIPAL, sumPrincipal(second) + 2 * PREPAYMENT);
+    }
+
+    @Test
+    void payingOffTheWholeLoanEmptiesTheTail() {
+        AmortizationSchedule s = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, TENURE);
+        AmortizationSchedule r = s.reconcile(balanceAfter(s, 6) - s.balanceAt(5), 6, false);
+
+        assertEquals(6, r.size());
+        assertEquals(PRINCIPAL, sumPrincipal(r) + s.balanceAt(5));
+    }
+
+    // account balance once the first `paid` installments were debited
+    private static long balanceAfter(AmortizationSchedule s, int paid) {
+        long balance = PRINCIPAL;
+        for (int i = 0; i < paid; i++) {
+            balance -= s.paymentAt(i);
+        }
+        return balance;
+    }
+
+    private static long sumPrincipal(AmortizationSchedule s) {
+        long total = 0;
+        for (int i = 0; i < s.size(); i++) {
+            total += s.principalAt(i);
+        }
+        return total;
+    }
+
+    private static void assertSameTable(AmortizationSchedule expected, AmortizationSchedule actual) {
+        assertEquals(expected.emi(), actual.emi());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.paymentAt(i), actual.paymentAt(i));
+            assertEquals(expected.balanceAt(i), actual.balanceAt(i));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.loan.poc.accountservice.service;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loan.poc.accountservice.dto.AccountResponse;
+import com.loan.poc.accountservice.dto.AccountType;
+import com.loan.poc.accountservice.dto.LoanStatus;
+import com.loan.poc.accountservice.model.Account;
+
+/**
+ * account-service in-memory work per request: entity → DTO mapping and the
+ * BigDecimal debit/credit rules (PostingLedger, same rules as the SQL path).
+ *
+ * Lives in the service package because PostingLedger is package-private.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1250.75");
+
+    private AccountService accountService;
+    private MethodHandle mapToResponse;
+    private Account deposit;
+    private Account loan;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        accountService = new AccountService();
+        mapToResponse = MethodHandles.privateLookupIn(AccountService.class, MethodHandles.lookup())
+                .findVirtual(AccountService.class, "mapToResponse",
+                        MethodType.methodType(AccountResponse.class, Account.class));
+        deposit = Account.builder().id(1L).userId(7L).accountType(AccountType.DEPOSIT)
+                .balance(new BigDecimal("250000.00")).status(LoanStatus.ACTIVE).build();
+        loan = Account.builder().id(2L).userId(7L).accountType(AccountType.LOAN)
+                .balance(new BigDecimal("1200000.00")).status(LoanStatus.ACTIVE).build();
+    }
+
+    @Benchmark
+    public AccountResponse mapToResponse() throws Throwable {
+        return (AccountResponse) mapToResponse.invokeExact(accountService, deposit);
+    }
+
+    @Benchmark
+    public BigDecimal depositDebitThenCredit() {
+        PostingLedger ledger = new PostingLedger(deposit);
+        ledger.debit(AMOUNT);
+        ledger.credit(AMOUNT);
+        return ledger.getBalance();
+    }
+
+    @Benchmark
+    public BigDecimal loanRepayment() {
+        PostingLedger ledger = new PostingLedger(loan);
+        ledger.debit(AMOUNT);
+        return ledger.getBalance();
+    }
+}
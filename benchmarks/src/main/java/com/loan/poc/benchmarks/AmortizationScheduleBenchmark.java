@@ -0,0 +1,64 @@
+package com.loan.poc.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loan.poc.accountservice.service.AmortizationSchedule;
+
+/**
+ * EMI schedule engine: full table for a new loan, and the incremental
+ * rebase after a prepayment one year in (only the unpaid tail is recomputed).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmortizationScheduleBenchmark {
+
+    private static final long PRINCIPAL = 50_00_000_00L; // 50 lakh in paise
+    private static final long RATE_MICROS = 95_000;      // 9.5%
+
+    @Param({"60", "240", "360"})
+    public int tenureMonths;
+
+    private AmortizationSchedule schedule;
+    private long afterPrepayment;
+
+    @Setup
+    public void setUp() {
+        schedule = AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, tenureMonths);
+        // account balance after 12 EMIs and a 5 lakh prepayment (debits take the whole EMI)
+        afterPrepayment = PRINCIPAL - 5_00_000_00L;
+        for (int i = 0; i < 12; i++) {
+            afterPrepayment -= schedule.paymentAt(i);
+        }
+    }
+
+    @Benchmark
+    public AmortizationSchedule compute() {
+        return AmortizationSchedule.compute(PRINCIPAL, RATE_MICROS, tenureMonths);
+    }
+
+    @Benchmark
+    public AmortizationSchedule prepaymentReduceTenure() {
+        return schedule.reconcile(afterPrepayment, 12, false);
+    }
+
+    @Benchmark
+    public AmortizationSchedule prepaymentReduceEmi() {
+        return schedule.reconcile(afterPrepayment, 12, true);
+    }
+}
@@ -0,0 +1,101 @@
+package com.loan.poc.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.loan.poc.accountservice.dto.AccountResponse;
+import com.loan.poc.accountservice.dto.AccountType;
+import com.loan.poc.accountservice.dto.LoanStatus;
+import com.loan.poc.paymentservice.dto.LoanPaymentRequest;
+import com.loan.poc.paymentservice.dto.PaymentResponse;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Jackson (de)serialization of the DTOs on the payLoan path:
+ * AccountResponse (account-service → payment-service), PaymentResponse and
+ * LoanPaymentRequest (client ↔ payment-service).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private JsonMapper mapper;
+    private AccountResponse account;
+    private PaymentResponse payment;
+    private LoanPaymentRequest loanPayment;
+    private byte[] accountJson;
+    private byte[] loanPaymentJson;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+
+        account = AccountResponse.builder()
+                .id(42L).userId(7L).accountType(AccountType.DEPOSIT)
+                .balance(new BigDecimal("250000.00")).status(LoanStatus.ACTIVE)
+                .build();
+
+        payment = new PaymentResponse();
+        payment.setId(1001L);
+        payment.setUserId(7L);
+        payment.setLoanAccountId(43L);
+        payment.setAmount(new BigDecimal("1250.75"));
+        payment.setTxType("PAYMENT");
+        payment.setStatus("SUCCESS");
+        payment.setTransactionId("3f0c6c1e-9a4b-4a57-9a59-2b1d1e0f3c11");
+        payment.setDescription("EMI October");
+        payment.setCreatedAt(Instant.parse("2026-10-01T09:30:00Z"));
+
+        loanPayment = new LoanPaymentRequest();
+        loanPayment.setDepositAccountId(42L);
+        loanPayment.setLoanAccountId(43L);
+        loanPayment.setAmount(new BigDecimal("1250.75"));
+        loanPayment.setDescription("EMI October");
+
+        accountJson = mapper.writeValueAsBytes(account);
+        loanPaymentJson = mapper.writeValueAsBytes(loanPayment);
+    }
+
+    @Benchmark
+    public byte[] writeAccountResponse() {
+        return mapper.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] writePaymentResponse() {
+        return mapper.writeValueAsBytes(payment);
+    }
+
+    @Benchmark
+    public byte[] writeLoanPaymentRequest() {
+        return mapper.writeValueAsBytes(loanPayment);
+    }
+
+    @Benchmark
+    public com.loan.poc.paymentservice.dto.AccountResponse readAccountResponse() {
+        // payment-service side of the Feign call
+        return mapper.readValue(accountJson, com.loan.poc.paymentservice.dto.AccountResponse.class);
+    }
+
+    @Benchmark
+    public LoanPaymentRequest readLoanPaymentRequest() {
+        return mapper.readValue(loanPaymentJson, LoanPaymentRequest.class);
+    }
+}
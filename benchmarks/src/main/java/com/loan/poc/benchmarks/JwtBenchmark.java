@@ -0,0 +1,74 @@
+package com.loan.poc.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.loan.poc.userservice.security.JWTUtil;
+
+/**
+ * user-service JWTUtil: token issue (login) and username extraction (every
+ * authenticated request). extractUsernameUncached runs with the verified-token
+ * cache disabled → full HMAC check + JSON decode per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "myloanappsecretkeywhichisverysecureandlongenough123456789";
+
+    private JWTUtil cached;
+    private JWTUtil uncached;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = jwtUtil(10_000);
+        uncached = jwtUtil(0);
+        user = new User("alice", "n/a", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = cached.generateToken(user);
+    }
+
+    static JWTUtil jwtUtil(long verifiedCacheMaxSize) {
+        JWTUtil util = new JWTUtil();
+        ReflectionTestUtils.setField(util, "secretkey", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", 600_000L);
+        ReflectionTestUtils.setField(util, "verifiedCacheMaxSize", verifiedCacheMaxSize);
+        ReflectionTestUtils.invokeMethod(util, "init");
+        return util;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cached.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsernameCached() {
+        return cached.extractUsername(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        return uncached.extractUsername(token);
+    }
+}
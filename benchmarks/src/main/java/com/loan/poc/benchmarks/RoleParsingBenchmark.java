@@ -0,0 +1,39 @@
+package com.loan.poc.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.loan.poc.userservice.service.MyUserDetailsService;
+
+/**
+ * MyUserDetailsService role parsing ("ROLE_A, ROLE_B" → authorities).
+ * An empty value stands for the ROLE_USER default of users without roles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleParsingBenchmark {
+
+    @Param({"", "ROLE_USER", "ROLE_USER, ROLE_ADMIN, ROLE_AUDITOR"})
+    public String roles;
+
+    @Benchmark
+    public List<GrantedAuthority> toAuthorities() {
+        return MyUserDetailsService.toAuthorities(roles);
+    }
+}
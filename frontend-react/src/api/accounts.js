@@ -1,6 +1,7 @@
-import { get, post } from "./http.js";
+import { get, getWithHeaders, post } from "./http.js";
 
 const ACCOUNT_BASE_URL = import.meta.env.VITE_ACCOUNT_SERVICE_URL || "http://localhost:8092";
+const NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
 
 export async function createAccount(payload, token) {
   return post(`${ACCOUNT_BASE_URL}/accounts/create`, payload, token);
@@ -10,8 +11,20 @@ export async function getAccountById(accountId, token) {
   return get(`${ACCOUNT_BASE_URL}/accounts/${accountId}`, token);
 }
 
+// The listing is keyset-paged; follow X-Next-After-Id until the last page.
 export async function getAccountsByUserId(userId, token) {
-  return get(`${ACCOUNT_BASE_URL}/accounts/user/${userId}`, token);
+  const accounts = [];
+  let afterId = null;
+  do {
+    const query = afterId == null ? "" : `?afterId=${afterId}`;
+    const { body, headers } = await getWithHeaders(
+      `${ACCOUNT_BASE_URL}/accounts/user/${userId}${query}`,
+      token
+    );
+    accounts.push(...body);
+    afterId = headers.get(NEXT_AFTER_ID_HEADER);
+  } while (afterId);
+  return accounts;
 }
 
 export async function debitAccount(payload, token) {
@@ -34,6 +34,16 @@ export async function get(url, token) {
   return handleResponse(response);
 }
 
+// Like get(), but also returns the response headers (e.g. paging cursors).
+export async function getWithHeaders(url, token) {
+  const headers = { ...DEFAULT_HEADERS };
+  if (token) headers.Authorization = `Bearer ${token}`;
+
+  const response = await fetch(url, { headers });
+  const body = await handleResponse(response);
+  return { body, headers: response.headers };
+}
+
 export async function post(url, body, token) {
   const headers = { ...DEFAULT_HEADERS };
   if (token) headers.Authorization = `Bearer ${token}`;
@@ -0,0 +1,68 @@
+package com.loan.poc.loadtest;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.loan.poc.accountservice.AccountServiceApplication;
+import com.loan.poc.paymentservice.PaymentServiceApplication;
+import com.loan.poc.userservice.UserServiceApplication;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Everything the services need, in this JVM:
+ * 1. Embedded PostgreSQL (random port) with userdb, accountdb, paymentsdb
+ * 2. user-service (8091), account-service (8092), payment-service (8093),
+ *    each its own Spring context reading classpath:/loadtest/<name>.properties
+ *
+ * The services' own application.properties all sit at the classpath root and
+ * would shadow each other, hence the explicit spring.config.location.
+ */
+class EmbeddedServices implements AutoCloseable {
+
+    private EmbeddedPostgres postgres;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    void start() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection con = postgres.getPostgresDatabase().getConnection();
+             Statement st = con.createStatement()) {
+            for (String db : List.of("userdb", "accountdb", "paymentsdb")) {
+                st.execute("CREATE DATABASE " + db);
+            }
+        }
+
+        // user-service first: account-service validates users against it
+        contexts.add(run(UserServiceApplication.class, "user-service", "userdb"));
+        contexts.add(run(AccountServiceApplication.class, "account-service", "accountdb"));
+        contexts.add(run(PaymentServiceApplication.class, "payment-service", "paymentsdb"));
+    }
+
+    private ConfigurableApplicationContext run(Class<?> app, String name, String database) {
+        System.out.println("Starting " + name + " ...");
+        return new SpringApplicationBuilder(app)
+                .properties(Map.of(
+                        "spring.config.location", "classpath:/loadtest/" + name + ".properties",
+                        "spring.datasource.url", postgres.getJdbcUrl("postgres", database)))
+                .run();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // reverse start order → callers stop before the services they call
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+}
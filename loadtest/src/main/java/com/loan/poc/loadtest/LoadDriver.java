@@ -0,0 +1,232 @@
+package com.loan.poc.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Seeds users/accounts through the public APIs and drives a fixed arrival rate.
+ *
+ * Open model: request i is due at start + i/rate and its latency is measured
+ * from that due time, not from when it was actually sent. A stalled service
+ * therefore shows up in the percentiles instead of silently lowering the rate
+ * (no coordinated omission).
+ */
+class LoadDriver {
+
+    static final List<String> ENDPOINTS = List.of("pay", "get", "credit", "login");
+
+    private static final String USERS = "http://localhost:8091";
+    private static final String ACCOUNTS = "http://localhost:8092";
+    private static final String PAYMENTS = "http://localhost:8093";
+
+    private final LoadTestConfig config;
+    private final HttpClient http;
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Customer> customers = new ArrayList<>();
+
+    /** A logged-in user with one DEPOSIT and one LOAN account; credentials for the login mix. */
+    private record Customer(String token, long depositAccountId, long loanAccountId, String credentials) {
+    }
+
+    /** Latencies (µs) and non-2xx count of one endpoint. */
+    private record Stats(Histogram latency, AtomicLong errors) {
+    }
+
+    LoadDriver(LoadTestConfig config) {
+        this.config = config;
+        this.http = HttpClient.newBuilder().executor(senders).build();
+    }
+
+    /**
+     * 1. Register and log in through /api/auth → real JWTs
+     * 2. Create a DEPOSIT and a LOAN account per user
+     */
+    void seed() throws Exception {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < config.users(); i++) {
+            String username = "load-" + run + "-" + i;
+            String credentials = "{\"username\":\"" + username + "\",\"password\":\"secret-" + i + "\"}";
+
+            JsonNode registered = call(post(USERS + "/api/auth/register", null, credentials));
+            long userId = registered.get("userId").asLong();
+            String token = call(post(USERS + "/api/auth/login", null, credentials)).get("token").asString();
+
+            long deposit = call(post(ACCOUNTS + "/accounts/create", token,
+                    "{\"userId\":" + userId + ",\"accountType\":\"DEPOSIT\",\"initialDeposit\":100000000}")).get("id").asLong();
+            long loan = call(post(ACCOUNTS + "/accounts/create", token,
+                    "{\"userId\":" + userId + ",\"accountType\":\"LOAN\",\"initialDeposit\":100000000}")).get("id").asLong();
+            customers.add(new Customer(token, deposit, loan, credentials));
+        }
+        System.out.println("Seeded " + customers.size() + " users with DEPOSIT + LOAN accounts");
+    }
+
+    void run() throws Exception {
+        if (!config.warmup().isZero()) {
+            System.out.println("Warm-up " + config.warmup().toSeconds() + "s at " + config.rate() + " req/s");
+            drive(config.warmup().toNanos(), newStats());
+        }
+
+        System.out.println("Measuring " + config.duration().toSeconds() + "s at " + config.rate() + " req/s, mix " + config.mix());
+        Map<String, Stats> stats = newStats();
+        long began = System.nanoTime();
+        drive(config.duration().toNanos(), stats);
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        report(stats, seconds);
+    }
+
+    private void drive(long durationNanos, Map<String, Stats> stats) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        int totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+        long start = System.nanoTime();
+
+        List<Future<?>> inFlight = new ArrayList<>();
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due - start >= durationNanos) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            String endpoint = pick(totalWeight);
+            Customer c = customers.get(ThreadLocalRandom.current().nextInt(customers.size()));
+            inFlight.add(senders.submit(() -> send(endpoint, c, due, stats.get(endpoint))));
+        }
+
+        // let the stragglers finish (their latency still counts from their due time)
+        for (var f : inFlight) {
+            try {
+                f.get();
+            } catch (ExecutionException ignored) {
+                // already counted as an error in send()
+            }
+        }
+    }
+
+    private String pick(int totalWeight) {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> e : config.mix().entrySet()) {
+            r -= e.getValue();
+            if (r < 0) {
+                return e.getKey();
+            }
+        }
+        throw new IllegalStateException("empty mix");
+    }
+
+    private void send(String endpoint, Customer c, long due, Stats stats) {
+        HttpRequest request = switch (endpoint) {
+            case "pay" -> post(PAYMENTS + "/payments/loan", c.token(),
+                    "{\"depositAccountId\":" + c.depositAccountId() + ",\"loanAccountId\":" + c.loanAccountId()
+                            + ",\"amount\":1.00,\"description\":\"load test\"}");
+            case "get" -> HttpRequest.newBuilder(URI.create(ACCOUNTS + "/accounts/" + c.depositAccountId()))
+                    .header("Authorization", "Bearer " + c.token())
+                    .GET().build();
+            case "credit" -> post(ACCOUNTS + "/accounts/credit", c.token(),
+                    "{\"accountId\":" + c.depositAccountId() + ",\"amount\":1.00}");
+            // BCrypt-bound; 503 = rejected by the login admission limit, counted as an error
+            case "login" -> post(USERS + "/api/auth/login", null, c.credentials());
+            default -> throw new IllegalArgumentException(endpoint);
+        };
+
+        boolean ok;
+        try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            ok = status >= 200 && status < 300;
+        } catch (IOException | InterruptedException ex) {
+            ok = false;
+        }
+        stats.latency().recordValue(Math.max(1, (System.nanoTime() - due) / 1_000));
+        if (!ok) {
+            stats.errors().incrementAndGet();
+        }
+    }
+
+    private void report(Map<String, Stats> stats, double seconds) throws IOException {
+        Path out = Path.of(config.outDir());
+        Files.createDirectories(out);
+
+        System.out.printf("%n%-8s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Stats> e : stats.entrySet()) {
+            Histogram h = e.getValue().latency();
+            if (h.getTotalCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-8s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.getKey(), h.getTotalCount(), e.getValue().errors().get(), h.getTotalCount() / seconds,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()));
+
+            // full distribution, plottable with HdrHistogram's plotter
+            try (PrintStream ps = new PrintStream(new FileOutputStream(out.resolve(e.getKey() + ".hgrm").toFile()))) {
+                h.outputPercentileDistribution(ps, 1000.0);
+            }
+        }
+        System.out.println("\nPercentile distributions (ms) written to " + out.toAbsolutePath());
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    private Map<String, Stats> newStats() {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            stats.put(endpoint, new Stats(new ConcurrentHistogram(3), new AtomicLong()));
+        }
+        return stats;
+    }
+
+    private static HttpRequest post(String url, String token, String body) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            b.header("Authorization", "Bearer " + token);
+        }
+        return b.build();
+    }
+
+    private JsonNode call(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " → "
+                    + response.statusCode() + " " + response.body());
+        }
+        return json.readTree(response.body());
+    }
+
+    void close() {
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,59 @@
+package com.loan.poc.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, all --key=value:
+ *
+ *   --users=50                        users registered, logged in and given a DEPOSIT + LOAN account
+ *   --rate=200                        requests per second (open model, independent of response times)
+ *   --duration=60s                    measured phase
+ *   --warmup=10s                      same load before measuring, not recorded
+ *   --mix=pay=20,get=60,credit=20     relative weights of POST /payments/loan, GET /accounts/{id}, POST /accounts/credit
+ *                                     and POST /api/auth/login (login, not in the default mix)
+ *   --out=target/loadtest             directory for the .hgrm percentile files
+ */
+record LoadTestConfig(int users, int rate, Duration duration, Duration warmup,
+                      Map<String, Integer> mix, String outDir) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : opts.getOrDefault("mix", "pay=20,get=60,credit=20").split(",")) {
+            String[] kv = part.trim().split("=");
+            if (!LoadDriver.ENDPOINTS.contains(kv[0])) {
+                throw new IllegalArgumentException("Unknown endpoint in mix: " + kv[0] + ", expected one of " + LoadDriver.ENDPOINTS);
+            }
+            mix.put(kv[0], Integer.parseInt(kv[1]));
+        }
+
+        return new LoadTestConfig(
+                Integer.parseInt(opts.getOrDefault("users", "50")),
+                Integer.parseInt(opts.getOrDefault("rate", "200")),
+                duration(opts.getOrDefault("duration", "60s")),
+                duration(opts.getOrDefault("warmup", "10s")),
+                mix,
+                opts.getOrDefault("out", "target/loadtest"));
+    }
+
+    // "90s", "2m" or plain seconds
+    private static Duration duration(String value) {
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
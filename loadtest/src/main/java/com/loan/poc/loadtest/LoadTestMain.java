@@ -0,0 +1,32 @@
+package com.loan.poc.loadtest;
+
+/**
+ * End-to-end load test in one process (see loadtest/pom.xml for how to run).
+ *
+ * 1. Start embedded PostgreSQL and the three services
+ * 2. Register/log in users and create their accounts through the APIs
+ * 3. Drive the configured request mix at a fixed arrival rate
+ * 4. Print latency percentiles per endpoint, write .hgrm files
+ *
+ * Service settings can be overridden with system properties, e.g.
+ * -Dpayments.engine=reactive or -Daccounts.posting.mode=sharded.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        try (EmbeddedServices services = new EmbeddedServices()) {
+            services.start();
+
+            LoadDriver driver = new LoadDriver(config);
+            try {
+                driver.seed();
+                driver.run();
+            } finally {
+                driver.close();
+            }
+        }
+        System.exit(0); // service worker threads are daemons, Tomcat/Hikari are closed above
+    }
+}
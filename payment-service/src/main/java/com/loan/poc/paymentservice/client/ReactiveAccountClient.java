@@ -0,0 +1,57 @@
+package com.loan.poc.paymentservice.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.loan.poc.paymentservice.dto.AccountResponse;
+import com.loan.poc.paymentservice.dto.TransferRequest;
+import com.loan.poc.paymentservice.dto.TransferResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of AccountClient (Feign), used by the reactive
+ * payment engine. Calls never hold a thread while waiting for account-service.
+ *
+ * There is no servlet request bound to the reactive pipeline, so the caller's
+ * Authorization header is passed explicitly instead of via FeignConfig.
+ * Non-2xx answers surface as WebClientResponseException.
+ */
+@Component
+public class ReactiveAccountClient {
+
+    private final WebClient webClient;
+
+    // Boot's builder → observed calls, trace context propagated to account-service
+    public ReactiveAccountClient(WebClient.Builder builder,
+                                 @Value("${accounts.base-url:http://localhost:8092}") String baseUrl) {
+        this.webClient = builder
+                .baseUrl(baseUrl)
+                .build();
+    }
+
+    public Mono<AccountResponse> getById(Long id, String authHeader) {
+        return webClient.get()
+                .uri("/accounts/{id}?fresh=true", id) // balance check → account-service primary
+                .headers(h -> forward(h, authHeader))
+                .retrieve()
+                .bodyToMono(AccountResponse.class);
+    }
+
+    public Mono<TransferResponse> transfer(TransferRequest request, String authHeader) {
+        return webClient.post()
+                .uri("/accounts/transfer")
+                .headers(h -> forward(h, authHeader))
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(TransferResponse.class);
+    }
+
+    private void forward(HttpHeaders headers, String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            headers.set(HttpHeaders.AUTHORIZATION, authHeader);
+        }
+    }
+}
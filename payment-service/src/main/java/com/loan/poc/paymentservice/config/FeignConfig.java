@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import com.loan.poc.paymentservice.security.ServiceTokenProvider;
+
 import feign.RequestInterceptor;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -12,7 +14,7 @@ import jakarta.servlet.http.HttpServletRequest;
 public class FeignConfig {
 
     @Bean
-    public RequestInterceptor requestInterceptor() {
+    public RequestInterceptor requestInterceptor(ServiceTokenProvider serviceTokenProvider) {
         return requestTemplate -> {
 
             // Get current HTTP request
@@ -29,8 +31,10 @@ public class FeignConfig {
                 if (authHeader != null && authHeader.startsWith("Bearer ")) {
                     requestTemplate.header("Authorization", authHeader);
                 }
+            } else {
+                // Background work (async payment workers) → call as payment-service itself
+                requestTemplate.header("Authorization", serviceTokenProvider.bearerHeader());
             }
         };
     }
 }
-
@@ -1,18 +1,32 @@
 package com.loan.poc.paymentservice.controller;
 
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.loan.poc.paymentservice.dto.LoanPaymentRequest;
+import com.loan.poc.paymentservice.dto.PaymentHistoryItem;
 import com.loan.poc.paymentservice.dto.PaymentResponse;
+import com.loan.poc.paymentservice.service.AsyncPaymentService;
 import com.loan.poc.paymentservice.service.PaymentService;
+import com.loan.poc.paymentservice.service.ReactivePaymentService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/payments")
@@ -21,12 +35,93 @@ public class PaymentController {
 
     private final PaymentService paymentService;
 
+    private final ReactivePaymentService reactivePaymentService;
+
+    private final AsyncPaymentService asyncPaymentService;
+
+    private final MeterRegistry meterRegistry;
+
+    // sync → PaymentService (blocking Feign), reactive → ReactivePaymentService,
+    // async → AsyncPaymentService (202 + PENDING, completed by background workers)
+    @Value("${payments.engine:sync}")
+    private String engine;
+
+    /**
+     * All engines answer through a Mono, so every request (sync engine
+     * included) goes through Servlet async dispatch: the container thread is
+     * released and the response is written on a second dispatch. The sync
+     * and async engines still do their work on the request thread, when the
+     * Mono is subscribed.
+     */
     @PostMapping("/loan")
-    public ResponseEntity<String> payLoan(@RequestBody LoanPaymentRequest request) {
-        return paymentService.payLoan(request);
+    public Mono<ResponseEntity<?>> payLoan(@RequestBody LoanPaymentRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            request.setIdempotencyKey(idempotencyKey);
+        }
+        // part of the idempotency fingerprint → another user's key never replays this payment
+        request.setCaller(principal == null ? null : principal.getName());
+        Mono<ResponseEntity<?>> result;
+        if ("reactive".equals(engine)) {
+            result = reactivePaymentService.payLoan(request, authHeader).map(r -> r);
+        } else if ("async".equals(engine)) {
+            result = Mono.fromSupplier(() -> asyncPaymentService.submit(request));
+        } else {
+            result = Mono.fromSupplier(() -> paymentService.payLoan(request));
+        }
+
+        long started = System.nanoTime();
+        return result
+                .doOnNext(response -> recordOutcome(outcome(response.getStatusCode().value()), started))
+                .doOnError(ex -> recordOutcome("FAILED", started));
+    }
+
+    // 200 → SUCCESS, 202 → ACCEPTED (async), 4xx → REJECTED, 5xx → FAILED
+    private static String outcome(int status) {
+        if (status == 202) {
+            return "ACCEPTED";
+        }
+        if (status >= 200 && status < 300) {
+            return "SUCCESS";
+        }
+        return status < 500 ? "REJECTED" : "FAILED";
+    }
+
+    private void recordOutcome(String outcome, long started) {
+        Timer.builder("payments.payloan")
+                .description("POST /payments/loan latency by outcome")
+                .tag("outcome", outcome)
+                .tag("engine", engine)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
     }
 
 
+    /**
+     * Statement for a user, newest first, in keyset pages of at most
+     * payments.page.max-size rows. Next page: ?cursor=<X-Next-Cursor header>.
+     */
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<PaymentHistoryItem>> getByUserId(@PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return paymentService.getPaymentsByUserId(userId, cursor, limit);
+    }
+
+    /**
+     * Payments made into a loan account, newest first, same paging as above.
+     */
+    @GetMapping("/loan/{loanAccountId}")
+    public ResponseEntity<List<PaymentHistoryItem>> getByLoanAccountId(@PathVariable Long loanAccountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return paymentService.getPaymentsByLoanAccountId(loanAccountId, cursor, limit);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PaymentResponse> getById(@PathVariable Long id) {
         return ResponseEntity.ok(paymentService.getPaymentById(id));
@@ -2,6 +2,8 @@ package com.loan.poc.paymentservice.dto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Data;
 
 @Data
@@ -10,4 +12,8 @@ public class LoanPaymentRequest {
     private Long depositAccountId;   // Deposit account used for payment
     private BigDecimal amount;           // EMI amount
     private String description;      // Payment description
-}
\ No newline at end of file
+    private String idempotencyKey;   // Optional; the Idempotency-Key header takes precedence
+
+    @JsonIgnore
+    private String caller;           // authenticated user, set by the controller
+}
@@ -0,0 +1,19 @@
+package com.loan.poc.paymentservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 202 body of an async loan payment. Follow the outcome via GET /payments/{paymentId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentAcceptedResponse {
+    private Long paymentId;
+    private String transactionId;
+    private String status;
+}
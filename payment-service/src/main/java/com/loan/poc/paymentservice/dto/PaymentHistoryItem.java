@@ -0,0 +1,21 @@
+package com.loan.poc.paymentservice.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Row of a payment statement (GET /payments/user/{id}, /payments/loan/{id}).
+ * Selected directly by JPQL constructor expression → no entity is loaded.
+ */
+public record PaymentHistoryItem(
+        Long id,
+        Long userId,
+        Long depositAccountId,
+        Long loanAccountId,
+        BigDecimal amount,
+        String txType,
+        String status,
+        String transactionId,
+        String description,
+        Instant createdAt) {
+}
@@ -0,0 +1,13 @@
+package com.loan.poc.paymentservice.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+@Data
+public class TransferRequest {
+    private Long depositAccountId;
+    private Long loanAccountId;
+    private BigDecimal amount;
+    private String reference; // payment transactionId → account-service applies it at most once
+}
@@ -0,0 +1,14 @@
+package com.loan.poc.paymentservice.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+@Data
+public class TransferResponse {
+    private boolean success;
+    private String message;
+    private BigDecimal depositBalance;
+    private BigDecimal loanBalance;
+    private LoanStatus loanStatus;
+}
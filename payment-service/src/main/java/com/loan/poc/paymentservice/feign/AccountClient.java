@@ -1,15 +1,20 @@
 package com.loan.poc.paymentservice.feign;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.loan.poc.paymentservice.config.FeignConfig;
 import com.loan.poc.paymentservice.dto.AccountResponse;
 import com.loan.poc.paymentservice.dto.DebitCreditResponse;
 import com.loan.poc.paymentservice.dto.DebitRequest;
+import com.loan.poc.paymentservice.dto.TransferRequest;
+import com.loan.poc.paymentservice.dto.TransferResponse;
 
 @FeignClient(name = "account-service", url = "http://localhost:8092", configuration = FeignConfig.class)
 
@@ -18,9 +23,18 @@ public interface AccountClient {
     @GetMapping("/accounts/{id}")
     AccountResponse getById(@PathVariable Long id);
 
+    // Several accounts in one round trip; unknown ids are left out of the result.
+    // fresh=true → account-service reads from its primary database (no cache, no replica)
+    @GetMapping("/accounts/bulk")
+    List<AccountResponse> getByIds(@RequestParam("ids") List<Long> ids, @RequestParam("fresh") boolean fresh);
+
     @PostMapping("/accounts/debit")
     DebitCreditResponse debit(@RequestBody DebitRequest request);
 
+    // Debits the deposit and reduces the loan in one account-service transaction
+    @PostMapping("/accounts/transfer")
+    TransferResponse transfer(@RequestBody TransferRequest request);
+
     @PostMapping("/accounts/credit")
     DebitCreditResponse credit(@RequestBody DebitRequest request);
 }
@@ -6,14 +6,22 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "ux_payments_idempotency_key", columnList = "idempotency_key", unique = true),
+        @Index(name = "idx_payments_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_payments_loan_created_id", columnList = "loan_account_id, created_at, id"),
+        @Index(name = "idx_payments_status_updated", columnList = "status, updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Payment {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: one nextval per 50 ids; PaymentGroupCommitter draws from the same sequence
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
      @Column(name = "user_id", nullable = false)
@@ -40,6 +48,15 @@ public class Payment {
     @Column(length = 500)
     private String description;
 
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey; // client-supplied, repeats return this payment's outcome
+
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;    // SHA-256 of caller + payload, a reused key must match it
+
+    @Column(name = "response_status")
+    private Integer responseStatus; // HTTP status answered for a FAILED payment, replayed on repeats
+
     @Column(name = "created_at")
     private Instant createdAt = Instant.now();
 
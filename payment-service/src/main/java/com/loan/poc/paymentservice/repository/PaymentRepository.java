@@ -1,10 +1,63 @@
 package com.loan.poc.paymentservice.repository;
 
+import com.loan.poc.paymentservice.dto.PaymentHistoryItem;
 import com.loan.poc.paymentservice.model.Payment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
+
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByUserId(Long userId);
     List<Payment> findByLoanAccountId(Long loanAccountId);
+
+    // PENDING payments with a transfer reference, untouched since `before` → re-driven by the reconciler
+    List<Payment> findByStatusAndTransactionIdIsNotNullAndUpdatedAtBeforeOrderByIdAsc(String status,
+            Instant before, Limit limit);
+
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+
+    // All stored keys, streamed with a cursor → rebuilds the idempotency pre-filter
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select p.idempotencyKey from Payment p where p.idempotencyKey is not null")
+    Stream<String> streamIdempotencyKeys();
+
+    // Statement pages, newest first. Keyset on (owner, created_at, id) →
+    // served by idx_payments_user_created_id / idx_payments_loan_created_id.
+    // Read-only transactions → served by the replica when one is configured.
+
+    String HISTORY_ITEM = "select new com.loan.poc.paymentservice.dto.PaymentHistoryItem("
+            + "p.id, p.userId, p.depositAccountId, p.loanAccountId, p.amount, p.txType, "
+            + "p.status, p.transactionId, p.description, p.createdAt) from Payment p ";
+
+    @Transactional(readOnly = true)
+    @Query(HISTORY_ITEM + "where p.userId = :userId order by p.createdAt desc, p.id desc")
+    List<PaymentHistoryItem> findHistoryByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(HISTORY_ITEM + "where p.userId = :userId"
+            + " and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))"
+            + " order by p.createdAt desc, p.id desc")
+    List<PaymentHistoryItem> findHistoryByUserIdBefore(@Param("userId") Long userId,
+            @Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(HISTORY_ITEM + "where p.loanAccountId = :loanAccountId order by p.createdAt desc, p.id desc")
+    List<PaymentHistoryItem> findHistoryByLoanAccountId(@Param("loanAccountId") Long loanAccountId, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query(HISTORY_ITEM + "where p.loanAccountId = :loanAccountId"
+            + " and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))"
+            + " order by p.createdAt desc, p.id desc")
+    List<PaymentHistoryItem> findHistoryByLoanAccountIdBefore(@Param("loanAccountId") Long loanAccountId,
+            @Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
 }
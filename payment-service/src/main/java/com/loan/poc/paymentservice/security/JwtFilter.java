@@ -1,5 +1,7 @@
 package com.loan.poc.paymentservice.security;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,6 +36,9 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     private  JwtUtil jwtUtil;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -48,10 +53,17 @@ public class JwtFilter extends OncePerRequestFilter {
         // Extract token from header
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7); // remove 'Bearer '
-            try {
+            // observed as auth.jwt.verify{outcome}: timer + span (parse + signature check)
+            Observation observation = Observation.createNotStarted("auth.jwt.verify", observationRegistry).start();
+            String outcome = "valid";
+            try (Observation.Scope scope = observation.openScope()) {
                 username = jwtUtil.extractUsername(token);
             } catch (Exception ex) {
+                outcome = "invalid";
+                observation.error(ex);
                 System.out.println("Invalid JWT: " + ex.getMessage());
+            } finally {
+                observation.lowCardinalityKeyValue("outcome", outcome).stop();
             }
         }
 
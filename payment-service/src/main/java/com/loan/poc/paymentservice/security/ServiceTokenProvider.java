@@ -0,0 +1,53 @@
+package com.loan.poc.paymentservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Token for calls payment-service makes on its own behalf (async payment
+ * workers, restart recovery), where there is no incoming request whose
+ * Authorization header could be forwarded.
+ *
+ * Signed with the shared jwt.secret, subject = spring.application.name.
+ * Re-issued once half of its lifetime has passed.
+ */
+@Component
+public class ServiceTokenProvider {
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${jwt.expiration}")
+    private long expirationMs;
+
+    @Value("${spring.application.name}")
+    private String serviceName;
+
+    private volatile String token;
+    private volatile long renewAt;
+
+    public String bearerHeader() {
+        return "Bearer " + token();
+    }
+
+    private String token() {
+        long now = System.currentTimeMillis();
+        if (token == null || now >= renewAt) {
+            // racing threads may both issue a token → harmless, both are valid
+            token = Jwts.builder()
+                    .subject(serviceName)
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + expirationMs))
+                    .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                    .compact();
+            renewAt = now + expirationMs / 2;
+        }
+        return token;
+    }
+}
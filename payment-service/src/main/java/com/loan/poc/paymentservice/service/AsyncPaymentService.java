@@ -0,0 +1,223 @@
+package com.loan.poc.paymentservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.loan.poc.paymentservice.dto.LoanPaymentRequest;
+import com.loan.poc.paymentservice.dto.PaymentAcceptedResponse;
+import com.loan.poc.paymentservice.model.Payment;
+import com.loan.poc.paymentservice.repository.PaymentRepository;
+import com.loan.poc.replica.PrimaryReads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Async loan payments (payments.engine=async).
+ *
+ * 1. Validate and insert the PENDING payment on the request thread
+ * 2. Queue its id and answer 202 with paymentId + transactionId
+ * 3. A bounded pool of workers runs the transfer and records SUCCESS/FAILED
+ *
+ * Clients follow the outcome via GET /payments/{id}.
+ *
+ * Reconciler: PENDING rows left behind by a restart or by an unknown transfer
+ * outcome (any engine) are re-queued once they have not been touched for
+ * payments.reconcile.in-flight-window, i.e. nobody is still working on them.
+ * The transfer reference (transactionId) makes a repeated transfer a no-op in
+ * account-service.
+ */
+@Service
+public class AsyncPaymentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncPaymentService.class);
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository repo;
+
+    @Autowired
+    private PaymentWriter paymentWriter;
+
+    @Value("${payments.async.workers:8}")
+    private int workerCount;
+
+    @Value("${payments.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${payments.async.resume-delay:15s}")
+    private Duration resumeDelay;
+
+    @Value("${payments.reconcile.in-flight-window:2m}")
+    private Duration inFlightWindow;
+
+    @Value("${payments.reconcile.interval:30s}")
+    private Duration reconcileInterval;
+
+    @Value("${payments.reconcile.batch-size:500}")
+    private int reconcileBatchSize;
+
+    private BlockingQueue<Long> queue;
+    // ids in the queue or being worked on → not queued a second time
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private List<Thread> workers;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        running = true;
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "payment-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    public ResponseEntity<?> submit(LoanPaymentRequest request) {
+        PaymentService.Submission submission = paymentService.recordPending(request);
+        if (!submission.accepted()) {
+            return submission.rejection();
+        }
+
+        Payment saved = submission.payment();
+        if (submission.duplicate()) {
+            // repeated request → same paymentId/transactionId, current status
+            return ResponseEntity.accepted().body(accepted(saved));
+        }
+        if (!enqueue(saved.getId())) {
+            // no transfer was sent → a definite failure
+            saved.setStatus("FAILED");
+            saved.setUpdatedAt(java.time.Instant.now());
+            try {
+                paymentWriter.save(saved);
+            } catch (QueryTimeoutException ex) {
+                // row may still be PENDING → the reconciler will drive it, so it was accepted after all
+                return ResponseEntity.accepted().body(accepted(saved));
+            }
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("Payment queue full, retry later");
+        }
+
+        return ResponseEntity.accepted().body(accepted(saved));
+    }
+
+    private static PaymentAcceptedResponse accepted(Payment p) {
+        return PaymentAcceptedResponse.builder()
+                .paymentId(p.getId())
+                .transactionId(p.getTransactionId())
+                .status(p.getStatus())
+                .build();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private boolean enqueue(Long paymentId) {
+        if (!queued.add(paymentId)) {
+            return true;
+        }
+        if (queue.offer(paymentId)) {
+            return true;
+        }
+        queued.remove(paymentId);
+        return false;
+    }
+
+    /**
+     * Reconciler loop on its own thread. The first pass runs after resume-delay,
+     * which gives service discovery time to find account-service; then every
+     * reconcile interval. A full queue ends the pass, the rest waits for the next.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void resumePending() {
+        Thread reconciler = new Thread(() -> {
+            try {
+                Thread.sleep(resumeDelay.toMillis());
+                while (running) {
+                    reconcile();
+                    Thread.sleep(reconcileInterval.toMillis());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "payment-reconcile");
+        reconciler.setDaemon(true);
+        reconciler.start();
+    }
+
+    private void reconcile() {
+        List<Payment> stale;
+        try {
+            // primary → a row just settled must not look PENDING on a lagging replica
+            stale = PrimaryReads.call(() -> repo.findByStatusAndTransactionIdIsNotNullAndUpdatedAtBeforeOrderByIdAsc(
+                    "PENDING", Instant.now().minus(inFlightWindow), Limit.of(reconcileBatchSize)));
+        } catch (RuntimeException ex) {
+            log.warn("Reconcile query failed", ex);
+            return;
+        }
+        int requeued = 0;
+        for (Payment p : stale) {
+            if (!enqueue(p.getId())) {
+                break;
+            }
+            requeued++;
+        }
+        if (requeued > 0) {
+            log.info("Re-driving {} PENDING payments", requeued);
+        }
+    }
+
+    private void runWorker() {
+        while (running) {
+            Long paymentId;
+            try {
+                paymentId = queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                // skip rows already finished by another engine or instance;
+                // primary → the row was inserted just now and may not be on the replica yet
+                PrimaryReads.call(() -> repo.findById(paymentId))
+                        .filter(p -> "PENDING".equals(p.getStatus()))
+                        .ifPresent(paymentService::completePayment);
+            } catch (RuntimeException ex) {
+                // row stays PENDING → re-driven by the reconciler after the in-flight window
+                log.warn("Payment {} failed, left PENDING for the reconciler", paymentId, ex);
+            } finally {
+                queued.remove(paymentId);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.loan.poc.paymentservice.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.loan.poc.paymentservice.repository.PaymentRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory Bloom filter over the idempotency keys stored in payments.
+ *
+ * mightContain == false → the key was never seen, skip the database lookup.
+ * mightContain == true  → maybe seen (false positive rate ~ payments.idempotency.filter.fpp),
+ *                         confirm with the unique index.
+ *
+ * Rebuilt from the table at startup. Keys inserted by other instances are not
+ * in this filter; the unique index still rejects those duplicates on insert.
+ */
+@Component
+public class IdempotencyKeyFilter {
+
+    @Autowired
+    private PaymentRepository repo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${payments.idempotency.filter.expected-keys:1000000}")
+    private long expectedKeys;
+
+    @Value("${payments.idempotency.filter.fpp:0.01}")
+    private double fpp;
+
+    private AtomicLongArray bits;
+    private long bitCount;
+    private int hashCount;
+
+    @PostConstruct
+    void rebuild() {
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        bitCount = Math.max(64, (long) (-expectedKeys * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * Math.log(2)));
+        bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> keys = repo.streamIdempotencyKeys()) {
+                keys.forEach(this::add);
+            }
+        });
+    }
+
+    public void add(String key) {
+        long h = hash(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0
+                    && !bits.compareAndSet(word, current, current | mask)) {
+                // lost a race on this word → retry
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long h = hash(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a, split into two 32-bit hashes (Kirsch–Mitzenmacher double hashing)
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
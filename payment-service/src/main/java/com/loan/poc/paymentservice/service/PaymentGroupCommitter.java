@@ -0,0 +1,312 @@
+package com.loan.poc.paymentservice.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.loan.poc.paymentservice.model.Payment;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Group commit for payments rows.
+ *
+ * Callers hand in a Payment (insert when id is null, status update otherwise)
+ * and block. One writer thread collects writes for up to `window` or
+ * `maxBatch` items, then runs all inserts and updates as JDBC batches in a
+ * single transaction → one commit (one fsync) for the whole group. Callers are
+ * released only after that commit.
+ *
+ * If a group fails (e.g. one duplicate idempotency key) it is retried one
+ * write per transaction, so only the offending caller sees the error.
+ *
+ * Insert ids come from payments_seq in the same 50-id blocks Hibernate's
+ * pooled optimizer uses (nextval = top of the block), so both writers can share it.
+ *
+ * INSERT_SQL / UPDATE_SQL repeat the column mapping of the Payment entity by
+ * hand: a column added to Payment must be added here too.
+ *
+ * Callers wait at most `writeTimeout` to queue and to hear back. On timeout:
+ * - write still queued → cancelled, the writer skips it: QueryTimeoutException,
+ *   nothing was written
+ * - writer already took it → it may still commit: UnconfirmedWriteException
+ * stop() fails every write still queued, so no caller is left waiting on shutdown.
+ */
+class PaymentGroupCommitter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO payments (id, user_id, deposit_account_id, loan_account_id, amount, tx_type, status,"
+            + " transaction_id, description, idempotency_key, request_hash, response_status, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE payments SET status = ?, response_status = ?, updated_at = ? WHERE id = ?";
+
+    // payments_seq increment = Payment's allocationSize
+    private static final int ID_BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration window;
+    private final int maxBatch;
+    private final Duration writeTimeout;
+    private final ObservationRegistry observationRegistry;
+
+    private final BlockingQueue<Write> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+
+    // id block [nextId, blockEnd], touched by the writer thread only
+    private long nextId = 1;
+    private long blockEnd = 0;
+
+    private static final int QUEUED = 0;
+    private static final int TAKEN = 1;
+    private static final int CANCELLED = 2;
+
+    /** One queued row write together with the caller's pending acknowledgement. */
+    private record Write(Payment payment, boolean insert, CompletableFuture<Payment> done, AtomicInteger state) {
+
+        // writer side: false → the caller gave up, skip the write
+        boolean take() {
+            return state.compareAndSet(QUEUED, TAKEN);
+        }
+
+        // caller side: false → the writer has it, it may still commit
+        boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+    }
+
+    /**
+     * The write timed out after the writer took it: its group may still commit.
+     */
+    static final class UnconfirmedWriteException extends QueryTimeoutException {
+        UnconfirmedWriteException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    PaymentGroupCommitter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                          Duration window, int maxBatch, int queueCapacity, Duration writeTimeout,
+                          ObservationRegistry observationRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.window = window;
+        this.maxBatch = maxBatch;
+        this.writeTimeout = writeTimeout;
+        this.observationRegistry = observationRegistry;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::run, "payment-group-commit");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    void stop() {
+        running = false;
+        writer.interrupt();
+        try {
+            // let the group in flight commit or fail on its own
+            writer.join(writeTimeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        List<Write> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(w -> w.done().completeExceptionally(stopped()));
+    }
+
+    long writes() {
+        return writes.get();
+    }
+
+    long commits() {
+        return commits.get();
+    }
+
+    /**
+     * Queue the write and wait until its group has committed.
+     * A full queue blocks the caller (back-pressure), both waits are bounded by
+     * writeTimeout. A timeout cancels the write if the writer has not taken it
+     * yet (QueryTimeoutException), else throws UnconfirmedWriteException.
+     */
+    Payment save(Payment payment) {
+        if (!running) {
+            throw stopped();
+        }
+        Write write = new Write(payment, payment.getId() == null, new CompletableFuture<>(), new AtomicInteger(QUEUED));
+        try {
+            if (!queue.offer(write, writeTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new QueryTimeoutException("Payment write queue full for " + writeTimeout);
+            }
+            return write.done().get(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for payment write", ex);
+        } catch (TimeoutException ex) {
+            if (write.cancel()) {
+                throw new QueryTimeoutException("Payment write not started within " + writeTimeout + ", not written", ex);
+            }
+            throw new UnconfirmedWriteException("Payment write not confirmed within " + writeTimeout, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Payment writer stopped");
+    }
+
+    private void run() {
+        while (running) {
+            List<Write> group = new ArrayList<>(maxBatch);
+            try {
+                group.add(queue.take());
+                long deadline = System.nanoTime() + window.toNanos();
+                while (group.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Write next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                group.forEach(w -> w.done().completeExceptionally(stopped()));
+                return;
+            }
+            group.removeIf(w -> !w.take());
+            if (!group.isEmpty()) {
+                flush(group);
+            }
+        }
+    }
+
+    private void flush(List<Write> group) {
+        List<Long> ids;
+        try {
+            // observed as payments.group-commit.flush: timer + span per group transaction
+            ids = Observation.createNotStarted("payments.group-commit.flush", observationRegistry)
+                    .highCardinalityKeyValue("writes", String.valueOf(group.size()))
+                    .observe(() -> transactionTemplate.execute(status -> write(group)));
+        } catch (RuntimeException ex) {
+            if (group.size() == 1) {
+                group.get(0).done().completeExceptionally(ex);
+            } else {
+                group.forEach(w -> flush(List.of(w)));
+            }
+            return;
+        }
+        commits.incrementAndGet();
+        writes.addAndGet(group.size());
+
+        // ids only become visible to callers once the transaction has committed;
+        // a failed group's ids are simply skipped (sequence gaps)
+        int next = 0;
+        for (Write w : group) {
+            if (w.insert()) {
+                w.payment().setId(ids.get(next++));
+            }
+            w.done().complete(w.payment());
+        }
+    }
+
+    // inserts first (ids in group order), then status updates
+    private List<Long> write(List<Write> group) {
+        List<Payment> inserts = group.stream().filter(Write::insert).map(Write::payment).toList();
+        List<Payment> updates = group.stream().filter(w -> !w.insert()).map(Write::payment).toList();
+
+        List<Long> ids = new ArrayList<>(inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            ids.add(nextId());
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Payment p = inserts.get(i);
+                    ps.setLong(1, ids.get(i));
+                    ps.setLong(2, p.getUserId());
+                    ps.setLong(3, p.getDepositAccountId());
+                    ps.setLong(4, p.getLoanAccountId());
+                    ps.setBigDecimal(5, p.getAmount());
+                    ps.setString(6, p.getTxType());
+                    ps.setString(7, p.getStatus());
+                    ps.setString(8, p.getTransactionId());
+                    ps.setString(9, p.getDescription());
+                    ps.setString(10, p.getIdempotencyKey());
+                    ps.setString(11, p.getRequestHash());
+                    setInteger(ps, 12, p.getResponseStatus());
+                    setInstant(ps, 13, p.getCreatedAt());
+                    setInstant(ps, 14, p.getUpdatedAt());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return inserts.size();
+                }
+            });
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, p) -> {
+                ps.setString(1, p.getStatus());
+                setInteger(ps, 2, p.getResponseStatus());
+                setInstant(ps, 3, p.getUpdatedAt());
+                ps.setLong(4, p.getId());
+            });
+        }
+        return ids;
+    }
+
+    // nextval → hi, block is (hi - ID_BLOCK, hi]
+    private long nextId() {
+        if (nextId > blockEnd) {
+            blockEnd = jdbcTemplate.queryForObject("SELECT nextval('payments_seq')", Long.class);
+            nextId = blockEnd - ID_BLOCK + 1;
+        }
+        return nextId++;
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+        } else {
+            ps.setTimestamp(index, Timestamp.from(value));
+        }
+    }
+}
@@ -1,20 +1,38 @@
 package com.loan.poc.paymentservice.service;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import com.loan.poc.paymentservice.dto.AccountResponse;
-import com.loan.poc.paymentservice.dto.DebitCreditResponse;
-import com.loan.poc.paymentservice.dto.DebitRequest;
 import com.loan.poc.paymentservice.dto.LoanPaymentRequest;
+import com.loan.poc.paymentservice.dto.PaymentHistoryItem;
 import com.loan.poc.paymentservice.dto.PaymentResponse;
+import com.loan.poc.paymentservice.dto.TransferRequest;
+import com.loan.poc.paymentservice.dto.TransferResponse;
 import com.loan.poc.paymentservice.feign.AccountClient;
 import com.loan.poc.paymentservice.model.Payment;
 import com.loan.poc.paymentservice.repository.PaymentRepository;
+import com.loan.poc.replica.PrimaryReads;
 
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -26,24 +44,80 @@ public class PaymentService {
 
         @Autowired
         private PaymentRepository repo;
+
+        @Autowired
+        private IdempotencyKeyFilter idempotencyKeyFilter;
+
+        @Autowired
+        private PaymentWriter paymentWriter;
+
+        public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+        @Value("${payments.page.max-size:500}")
+        private int maxPageSize;
+
+        /**
+         * Outcome of the ingest half of a payment: the saved PENDING payment,
+         * the payment already recorded under the same idempotency key
+         * (duplicate = true), or the response to answer with instead (a
+         * rejection, or 202 when the PENDING insert was not confirmed in time).
+         */
+        public record Submission(Payment payment, ResponseEntity<String> rejection, boolean duplicate) {
+            public boolean accepted() {
+                return payment != null;
+            }
+        }
+
         /**
-         * 1. Check deposit balance
-         * 2. Debit deposit account
-         * 3. Pay loan → update status
+         * 1. Fetch both accounts (one bulk call) and check ownership/balance
+         * 2. Record the payment as PENDING
+         * 3. Transfer deposit → loan atomically in account-service → update status
          */
         public ResponseEntity<String> payLoan(LoanPaymentRequest request) {
+            Submission submission = recordPending(request);
+            if (!submission.accepted()) {
+                return submission.rejection();
+            }
+            if (submission.duplicate()) {
+                return replay(submission.payment(), request);
+            }
+            return completePayment(submission.payment());
+        }
+
+        /**
+         * Steps 1 and 2 of payLoan: validate against account-service and insert
+         * the PENDING payment. Used directly by the async engine.
+         */
+        public Submission recordPending(LoanPaymentRequest request) {
 
-            // STEP 1 → Get accounts
-            AccountResponse depositAcc = accountClient.getById(request.getDepositAccountId());
-            AccountResponse loanAcc = accountClient.getById(request.getLoanAccountId());
+            // STEP 0 → Retried request? Answer from the stored payment, no account-service call
+            String key = request.getIdempotencyKey();
+            if (key != null && idempotencyKeyFilter.mightContain(key)) {
+                Optional<Payment> existing = repo.findByIdempotencyKey(key);
+                if (existing.isPresent()) {
+                    return duplicate(existing.get(), request);
+                }
+            }
+
+            // STEP 1 → Get both accounts in one round trip; fresh balances, not a lagging replica
+            Map<Long, AccountResponse> accounts = accountClient
+                    .getByIds(List.of(request.getDepositAccountId(), request.getLoanAccountId()), true)
+                    .stream()
+                    .collect(Collectors.toMap(AccountResponse::getId, Function.identity(), (a, b) -> a));
+            AccountResponse depositAcc = accounts.get(request.getDepositAccountId());
+            AccountResponse loanAcc = accounts.get(request.getLoanAccountId());
+
+            if (depositAcc == null || loanAcc == null) {
+                return rejected(ResponseEntity.status(404).body("Deposit or Loan account not found"));
+            }
 
             // Validation
             if (!depositAcc.getUserId().equals(loanAcc.getUserId())) {
-                return ResponseEntity.badRequest().body("Deposit and Loan accounts belong to different users!");
+                return rejected(ResponseEntity.badRequest().body("Deposit and Loan accounts belong to different users!"));
             }
 
             if (depositAcc.getBalance().compareTo(request.getAmount()) < 0) {
-                return ResponseEntity.badRequest().body("Insufficient deposit balance");
+                return rejected(ResponseEntity.badRequest().body("Insufficient deposit balance"));
             }
 
             // create payment record as PENDING
@@ -56,67 +130,242 @@ public class PaymentService {
             p.setStatus("PENDING");
             p.setTransactionId(UUID.randomUUID().toString());
             p.setDescription(request.getDescription());
+            p.setIdempotencyKey(key);
+            p.setRequestHash(key == null ? null : fingerprint(request));
+
+            Payment saved;
+            try {
+                saved = paymentWriter.save(p);
+            } catch (PaymentGroupCommitter.UnconfirmedWriteException ex) {
+                // the insert may still commit and then be re-driven → never report it as failed
+                return rejected(outcomeUnknown(p.getTransactionId()));
+            } catch (QueryTimeoutException ex) {
+                // not written → safe to retry
+                return rejected(ResponseEntity.status(503).body("Payment not recorded in time, retry later"));
+            } catch (DataIntegrityViolationException ex) {
+                // Same key inserted concurrently (or by another instance) → that payment wins
+                Optional<Payment> existing = key == null ? Optional.empty() : repo.findByIdempotencyKey(key);
+                if (existing.isEmpty()) {
+                    throw ex;
+                }
+                idempotencyKeyFilter.add(key);
+                return duplicate(existing.get(), request);
+            }
+            if (key != null) {
+                idempotencyKeyFilter.add(key);
+            }
+            return new Submission(saved, null, false);
+        }
 
-            Payment saved = repo.save(p);
+        private static Submission rejected(ResponseEntity<String> response) {
+            return new Submission(null, response, false);
+        }
 
-            // STEP 2 → Debit deposit account
-            DebitRequest debitReq = new DebitRequest();
-            debitReq.setAccountId(depositAcc.getId());
-            debitReq.setAmount(request.getAmount());
+        // a reused key only replays the payment it was first used for
+        private static Submission duplicate(Payment existing, LoanPaymentRequest request) {
+            if (!matchesRequest(existing, request)) {
+                return rejected(keyReused());
+            }
+            return new Submission(existing, null, true);
+        }
 
-            DebitCreditResponse depositResp;
-            try {
-                depositResp = accountClient.debit(debitReq);
-            } catch (Exception ex) {
-                saved.setStatus("FAILED");
-                saved.setUpdatedAt(java.time.Instant.now());
-                repo.save(saved);
-                return ResponseEntity.status(502).body("Failed to debit deposit account");
+        /**
+         * Response for a repeated request, derived from the stored payment:
+         * a key reused for a different request (other payload or caller) → 422,
+         * otherwise the status the first request was answered with.
+         */
+        public ResponseEntity<String> replay(Payment existing, LoanPaymentRequest request) {
+            if (!matchesRequest(existing, request)) {
+                return keyReused();
             }
+            return switch (existing.getStatus()) {
+                case "SUCCESS" -> ResponseEntity.ok("Loan EMI paid successfully");
+                case "PENDING" -> ResponseEntity.status(409).body("Payment with this idempotency key is still in progress");
+                default -> existing.getResponseStatus() != null && existing.getResponseStatus() == 400
+                        ? ResponseEntity.badRequest().body("Loan payment was rejected by account service")
+                        : ResponseEntity.status(502).body("Loan payment failed");
+            };
+        }
+
+        // rows stored before request hashes were recorded carry none → accepted
+        static boolean matchesRequest(Payment existing, LoanPaymentRequest request) {
+            return existing.getRequestHash() == null || existing.getRequestHash().equals(fingerprint(request));
+        }
 
-           
+        private static ResponseEntity<String> keyReused() {
+            return ResponseEntity.unprocessableEntity()
+                    .body("Idempotency-Key was already used for a different request");
+        }
 
-            if (!depositResp.isSuccess()) {
-                saved.setStatus("FAILED");
-                saved.setUpdatedAt(java.time.Instant.now());
-                repo.save(saved);
-                return ResponseEntity.badRequest().body("Deposit account debit was not successful");
+        /**
+         * SHA-256 (hex) over caller and payload; amounts compare by value (10 == 10.00).
+         */
+        static String fingerprint(LoanPaymentRequest request) {
+            BigDecimal amount = request.getAmount();
+            String canonical = String.join("\n",
+                    String.valueOf(request.getCaller()),
+                    String.valueOf(request.getDepositAccountId()),
+                    String.valueOf(request.getLoanAccountId()),
+                    amount == null ? "null" : amount.stripTrailingZeros().toPlainString(),
+                    String.valueOf(request.getDescription()));
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                return HexFormat.of().formatHex(sha256.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
             }
+        }
 
-            // STEP 3 → Apply EMI to loan account
-            DebitRequest loanDebit = new DebitRequest();
-            loanDebit.setAccountId(loanAcc.getId());
-            loanDebit.setAmount(request.getAmount());
+        /**
+         * Step 3 of payLoan for a PENDING payment. The transactionId is sent as
+         * transfer reference, so completing the same payment twice (e.g. resumed
+         * after a restart) moves the money only once.
+         *
+         * Outcomes:
+         * 1. success=true                 → SUCCESS, 200
+         * 2. 4xx or success=false         → FAILED, nothing was moved
+         * 3. 5xx, timeout, reset, ...     → unknown: the transfer may have been applied,
+         *    so the payment stays PENDING (202) and is re-driven with the same reference
+         */
+        public ResponseEntity<String> completePayment(Payment saved) {
 
-            DebitCreditResponse loanResp;
+            // STEP 2 → Debit deposit and reduce loan in one account-service transaction
+            TransferRequest transferReq = new TransferRequest();
+            transferReq.setDepositAccountId(saved.getDepositAccountId());
+            transferReq.setLoanAccountId(saved.getLoanAccountId());
+            transferReq.setAmount(saved.getAmount());
+            transferReq.setReference(saved.getTransactionId());
+
+            TransferResponse transferResp;
             try {
-                loanResp = accountClient.debit(loanDebit);
-            } catch (Exception ex) {
-                saved.setStatus("FAILED");
-                saved.setUpdatedAt(java.time.Instant.now());
-                repo.save(saved);
-                return ResponseEntity.status(502).body("Failed to debit loan account");
+                transferResp = accountClient.transfer(transferReq);
+            } catch (FeignException ex) {
+                if (isDefiniteRejection(ex.status())) {
+                    // Rejected by account-service (balance, ownership, ...) → nothing was moved
+                    return finish(saved, "FAILED", ResponseEntity.badRequest().body("Loan payment was rejected by account service"));
+                }
+                // Outcome unknown → leave PENDING, never report FAILED for money that may have moved
+                saved.setUpdatedAt(Instant.now());
+                try {
+                    paymentWriter.save(saved);
+                } catch (QueryTimeoutException ignored) {
+                    // only updatedAt was touched, the row stays PENDING either way
+                }
+                return outcomeUnknown();
             }
 
-            
+            return transferResp.isSuccess()
+                    ? finish(saved, "SUCCESS", ResponseEntity.ok("Loan EMI paid successfully"))
+                    : finish(saved, "FAILED", ResponseEntity.status(502).body("Loan payment failed"));
+        }
 
-            if (depositResp.isSuccess() && loanResp.isSuccess()) {
-                saved.setStatus("SUCCESS");
-            } else {
-                saved.setStatus("FAILED");
+        // a timed-out status write leaves the row to the reconciler: SUCCESS stands, anything else is unknown
+        private ResponseEntity<String> finish(Payment saved, String status, ResponseEntity<String> response) {
+            saved.setStatus(status);
+            saved.setResponseStatus(response.getStatusCode().value());
+            saved.setUpdatedAt(Instant.now());
+            try {
+                paymentWriter.save(saved);
+            } catch (QueryTimeoutException ex) {
+                return "SUCCESS".equals(status) ? response : outcomeUnknown();
             }
-            saved.setUpdatedAt(java.time.Instant.now());
-            repo.save(saved);
+            return response;
+        }
+
+        /**
+         * A 4xx from account-service means the transfer was refused and not applied.
+         * 408/429 only say "not now" and status -1 (Feign) is an I/O failure → unknown.
+         */
+        static boolean isDefiniteRejection(int status) {
+            return status >= 400 && status < 500 && status != 408 && status != 429;
+        }
+
+        static ResponseEntity<String> outcomeUnknown() {
+            return ResponseEntity.status(202)
+                    .body("Transfer outcome unknown, the payment stays PENDING and will be retried");
+        }
+
+        // PENDING insert timed out after it was handed to the writer
+        static ResponseEntity<String> outcomeUnknown(String transactionId) {
+            return ResponseEntity.status(202)
+                    .body("Payment " + transactionId + " not confirmed in time: if recorded it stays PENDING and"
+                            + " will be completed; repeat with the same Idempotency-Key to see its outcome");
+        }
+
+    /**
+     * One statement page for a user, newest first. Pass the X-Next-Cursor
+     * header of the previous page as cursor to continue.
+     */
+    public ResponseEntity<List<PaymentHistoryItem>> getPaymentsByUserId(Long userId, String cursor, int limit) {
+        Cursor c = Cursor.parse(cursor);
+        if (cursor != null && c == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Limit pageLimit = Limit.of(clampPageSize(limit) + 1);
+        List<PaymentHistoryItem> rows = c == null
+                ? repo.findHistoryByUserId(userId, pageLimit)
+                : repo.findHistoryByUserIdBefore(userId, c.createdAt(), c.id(), pageLimit);
+        return toPage(rows, clampPageSize(limit));
+    }
+
+    /**
+     * One statement page for a loan account, newest first.
+     */
+    public ResponseEntity<List<PaymentHistoryItem>> getPaymentsByLoanAccountId(Long loanAccountId, String cursor, int limit) {
+        Cursor c = Cursor.parse(cursor);
+        if (cursor != null && c == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Limit pageLimit = Limit.of(clampPageSize(limit) + 1);
+        List<PaymentHistoryItem> rows = c == null
+                ? repo.findHistoryByLoanAccountId(loanAccountId, pageLimit)
+                : repo.findHistoryByLoanAccountIdBefore(loanAccountId, c.createdAt(), c.id(), pageLimit);
+        return toPage(rows, clampPageSize(limit));
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
 
-            if (saved.getStatus().equals("SUCCESS")) {
-                return ResponseEntity.ok("Loan EMI paid successfully");
-            } else {
-                return ResponseEntity.status(502).body("Loan payment failed");
+    // pageSize + 1 rows were fetched → the extra row only tells us there is a next page
+    static ResponseEntity<List<PaymentHistoryItem>> toPage(List<PaymentHistoryItem> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return ResponseEntity.ok(rows);
+        }
+        List<PaymentHistoryItem> page = rows.subList(0, pageSize);
+        PaymentHistoryItem last = page.get(pageSize - 1);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, new Cursor(last.createdAt(), last.id()).toString())
+                .body(page);
+    }
+
+    /** Keyset position: createdAt and id of the last row of the previous page. */
+    record Cursor(Instant createdAt, Long id) {
+
+        /** @return the cursor, or null when value is null or malformed */
+        static Cursor parse(String value) {
+            if (value == null) {
+                return null;
             }
+            int sep = value.lastIndexOf('_');
+            try {
+                return new Cursor(Instant.parse(value.substring(0, sep)), Long.parseLong(value.substring(sep + 1)));
+            } catch (RuntimeException ex) {
+                return null; // malformed cursor
+            }
+        }
+
+        @Override
+        public String toString() {
+            return createdAt + "_" + id;
         }
+    }
 
      public PaymentResponse getPaymentById(Long id) {
-        var p = repo.findById(id).orElseThrow(() -> new RuntimeException("Payment not found"));
+        // replica first; a payment it has not replayed yet (just accepted) → primary
+        var p = repo.findById(id)
+                .or(() -> PrimaryReads.call(() -> repo.findById(id)))
+                .orElseThrow(() -> new RuntimeException("Payment not found"));
         return toDto(p);
     }
 
@@ -0,0 +1,74 @@
+package com.loan.poc.paymentservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.loan.poc.paymentservice.model.Payment;
+import com.loan.poc.paymentservice.repository.PaymentRepository;
+
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Single entry point for payments row writes (PENDING insert, SUCCESS/FAILED update).
+ *
+ * payments.group-commit.enabled=false → repo.save, one autocommit per write
+ * payments.group-commit.enabled=true  → PaymentGroupCommitter, one commit per group
+ *
+ * Either way the call returns only once the row is durable.
+ */
+@Component
+public class PaymentWriter {
+
+    @Autowired
+    private PaymentRepository repo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Value("${payments.group-commit.enabled:false}")
+    private boolean groupCommit;
+
+    @Value("${payments.group-commit.window:2ms}")
+    private java.time.Duration window;
+
+    @Value("${payments.group-commit.max-batch:128}")
+    private int maxBatch;
+
+    @Value("${payments.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${payments.group-commit.write-timeout:5s}")
+    private java.time.Duration writeTimeout;
+
+    private PaymentGroupCommitter committer;
+
+    @PostConstruct
+    void start() {
+        if (groupCommit) {
+            committer = new PaymentGroupCommitter(jdbcTemplate, transactionTemplate, window, maxBatch, queueCapacity,
+                    writeTimeout, observationRegistry);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (committer != null) {
+            committer.stop();
+        }
+    }
+
+    public Payment save(Payment payment) {
+        return committer == null ? repo.save(payment) : committer.save(payment);
+    }
+}
@@ -0,0 +1,207 @@
+package com.loan.poc.paymentservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.loan.poc.paymentservice.client.ReactiveAccountClient;
+import com.loan.poc.paymentservice.dto.AccountResponse;
+import com.loan.poc.paymentservice.dto.LoanPaymentRequest;
+import com.loan.poc.paymentservice.dto.TransferRequest;
+import com.loan.poc.paymentservice.model.Payment;
+import com.loan.poc.paymentservice.repository.PaymentRepository;
+
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive version of PaymentService#payLoan (payments.engine=reactive).
+ *
+ * 0. Replay a repeated idempotency key from the stored payment
+ * 1. Fetch deposit and loan accounts concurrently
+ * 2. Validate ownership and balance
+ * 3. Record the payment as PENDING
+ * 4. Transfer deposit → loan in account-service (one transaction there)
+ * 5. Record SUCCESS/FAILED; unknown outcome → stays PENDING (202), re-driven by reference
+ *
+ * Every step has its own timeout. A timed-out write keeps running, so a
+ * timeout never turns into FAILED: the payment stays PENDING and is settled
+ * later with the same transfer reference. HTTP steps are non-blocking; the JPA writes
+ * run on virtual threads, which park instead of holding a platform thread
+ * while Postgres answers.
+ */
+@Service
+public class ReactivePaymentService {
+
+    @Autowired
+    private ReactiveAccountClient accountClient;
+
+    @Autowired
+    private PaymentRepository repo;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private IdempotencyKeyFilter idempotencyKeyFilter;
+
+    @Autowired
+    private PaymentWriter paymentWriter;
+
+    @Value("${payments.reactive.timeout.lookup:2s}")
+    private Duration lookupTimeout;
+
+    @Value("${payments.reactive.timeout.transfer:5s}")
+    private Duration transferTimeout;
+
+    @Value("${payments.reactive.timeout.db:2s}")
+    private Duration dbTimeout;
+
+    private final Scheduler jdbcScheduler =
+            Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "payment-jdbc");
+
+    @PreDestroy
+    void shutdown() {
+        jdbcScheduler.dispose();
+    }
+
+    public Mono<ResponseEntity<String>> payLoan(LoanPaymentRequest request, String authHeader) {
+
+        // STEP 0 → Retried request? Answer from the stored payment, no account-service call
+        String key = request.getIdempotencyKey();
+        if (key == null || !idempotencyKeyFilter.mightContain(key)) {
+            return process(request, authHeader);
+        }
+        return findByIdempotencyKey(key)
+                .map(existing -> paymentService.replay(existing, request))
+                .switchIfEmpty(Mono.defer(() -> process(request, authHeader)))
+                .onErrorResume(ex -> Mono.just(ResponseEntity.status(502).body("Loan payment failed")));
+    }
+
+    private Mono<ResponseEntity<String>> process(LoanPaymentRequest request, String authHeader) {
+
+        // STEP 1 → Get both accounts concurrently
+        Mono<AccountResponse> deposit = accountClient.getById(request.getDepositAccountId(), authHeader)
+                .timeout(lookupTimeout);
+        Mono<AccountResponse> loan = accountClient.getById(request.getLoanAccountId(), authHeader)
+                .timeout(lookupTimeout);
+
+        return Mono.zip(deposit, loan)
+                .flatMap(accounts -> {
+                    AccountResponse depositAcc = accounts.getT1();
+                    AccountResponse loanAcc = accounts.getT2();
+
+                    // Validation
+                    if (!depositAcc.getUserId().equals(loanAcc.getUserId())) {
+                        return Mono.just(ResponseEntity.badRequest().body("Deposit and Loan accounts belong to different users!"));
+                    }
+                    if (depositAcc.getBalance().compareTo(request.getAmount()) < 0) {
+                        return Mono.just(ResponseEntity.badRequest().body("Insufficient deposit balance"));
+                    }
+                    return pay(request, loanAcc.getUserId(), authHeader);
+                })
+                .onErrorResume(WebClientResponseException.NotFound.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Deposit or Loan account not found")))
+                .onErrorResume(ex -> Mono.just(ResponseEntity.status(502).body("Failed to fetch accounts")));
+    }
+
+    private Mono<ResponseEntity<String>> pay(LoanPaymentRequest request, Long userId, String authHeader) {
+
+        // create payment record as PENDING
+        Payment p = new Payment();
+        p.setDepositAccountId(request.getDepositAccountId());
+        p.setLoanAccountId(request.getLoanAccountId());
+        p.setUserId(userId);
+        p.setAmount(request.getAmount());
+        p.setTxType("PAYMENT");
+        p.setStatus("PENDING");
+        p.setTransactionId(UUID.randomUUID().toString());
+        p.setDescription(request.getDescription());
+        p.setIdempotencyKey(request.getIdempotencyKey());
+        p.setRequestHash(request.getIdempotencyKey() == null ? null : PaymentService.fingerprint(request));
+
+        TransferRequest transferReq = new TransferRequest();
+        transferReq.setDepositAccountId(request.getDepositAccountId());
+        transferReq.setLoanAccountId(request.getLoanAccountId());
+        transferReq.setAmount(request.getAmount());
+        transferReq.setReference(p.getTransactionId());
+
+        return save(p).doOnNext(this::rememberKey).flatMap(saved ->
+                // STEP 2 → Debit deposit and reduce loan in one account-service transaction
+                accountClient.transfer(transferReq, authHeader)
+                        .timeout(transferTimeout)
+                        .flatMap(resp -> resp.isSuccess()
+                                ? finish(saved, "SUCCESS", ResponseEntity.ok("Loan EMI paid successfully"))
+                                : finish(saved, "FAILED", ResponseEntity.status(502).body("Loan payment failed")))
+                        .onErrorResume(ex -> {
+                            if (ex instanceof WebClientResponseException wex
+                                    && PaymentService.isDefiniteRejection(wex.getStatusCode().value())) {
+                                // Rejected by account-service (balance, ownership, ...) → nothing was moved
+                                return finish(saved, "FAILED", ResponseEntity.badRequest().body("Loan payment was rejected by account service"));
+                            }
+                            // 5xx, timeout, reset → the transfer may have been applied, leave PENDING
+                            return Mono.just(PaymentService.outcomeUnknown());
+                        }))
+                // Same key inserted concurrently → answer with that payment's outcome
+                .onErrorResume(DataIntegrityViolationException.class, ex -> p.getIdempotencyKey() == null
+                        ? Mono.error(ex)
+                        : findByIdempotencyKey(p.getIdempotencyKey())
+                                .doOnNext(this::rememberKey)
+                                .map(existing -> paymentService.replay(existing, request))
+                                .switchIfEmpty(Mono.error(ex)))
+                // PENDING insert still running after dbTimeout → it may commit and be re-driven
+                .onErrorResume(TimeoutException.class, ex -> Mono.just(PaymentService.outcomeUnknown()))
+                .onErrorResume(PaymentGroupCommitter.UnconfirmedWriteException.class,
+                        ex -> Mono.just(PaymentService.outcomeUnknown(p.getTransactionId())))
+                // group-commit queue timed out before the insert was taken → not written
+                .onErrorResume(QueryTimeoutException.class,
+                        ex -> Mono.just(ResponseEntity.status(503).body("Payment not recorded in time, retry later")))
+                // PENDING insert failed → no transfer was sent
+                .onErrorResume(ex -> Mono.just(ResponseEntity.status(502).body("Loan payment failed")));
+    }
+
+    private void rememberKey(Payment p) {
+        if (p.getIdempotencyKey() != null) {
+            idempotencyKeyFilter.add(p.getIdempotencyKey());
+        }
+    }
+
+    private Mono<Payment> findByIdempotencyKey(String key) {
+        return Mono.fromCallable(() -> repo.findByIdempotencyKey(key))
+                .subscribeOn(jdbcScheduler)
+                .timeout(dbTimeout)
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Records the final status. If that write fails or times out the row may
+     * still be PENDING: a SUCCESS is still reported (the money moved), any
+     * other outcome is reported unknown because the row will be re-driven.
+     */
+    private Mono<ResponseEntity<String>> finish(Payment saved, String status, ResponseEntity<String> response) {
+        saved.setStatus(status);
+        saved.setResponseStatus(response.getStatusCode().value());
+        saved.setUpdatedAt(Instant.now());
+        return save(saved).thenReturn(response)
+                .onErrorResume(ex -> Mono.just("SUCCESS".equals(status) ? response : PaymentService.outcomeUnknown()));
+    }
+
+    private Mono<Payment> save(Payment p) {
+        return Mono.fromCallable(() -> paymentWriter.save(p))
+                .subscribeOn(jdbcScheduler)
+                .timeout(dbTimeout);
+    }
+}
@@ -0,0 +1,17 @@
+-- Pooled sequences (increment 50) before Hibernate starts; an existing table's sequence starts at MAX(id) + 50 and its IDENTITY is dropped.
+DO $$
+DECLARE
+    t text;
+    next_id bigint;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['payments'] LOOP
+        CONTINUE WHEN to_regclass(t || '_seq') IS NOT NULL;
+        next_id := 50;
+        IF to_regclass(t) IS NOT NULL THEN
+            EXECUTE format('SELECT COALESCE(MAX(id), 0) + 50 FROM %I', t) INTO next_id;
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+        END IF;
+        EXECUTE format('CREATE SEQUENCE %I START WITH %s INCREMENT BY 50', t || '_seq', next_id);
+    END LOOP;
+END
+$$
@@ -0,0 +1,78 @@
+package com.loan.poc.paymentservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.loan.poc.paymentservice.repository.PaymentRepository;
+
+/**
+ * Bloom pre-filter: no false negatives, false positives near the configured rate.
+ */
+class IdempotencyKeyFilterTest {
+
+    private static final int EXPECTED_KEYS = 10_000;
+    private static final double FPP = 0.01;
+
+    private IdempotencyKeyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        PaymentRepository repo = mock(PaymentRepository.class);
+        when(repo.streamIdempotencyKeys()).thenReturn(Stream.of("stored-1", "stored-2"));
+
+        filter = new IdempotencyKeyFilter();
+        ReflectionTestUtils.setField(filter, "repo", repo);
+        ReflectionTestUtils.setField(filter, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(filter, "expectedKeys", (long) EXPECTED_KEYS);
+        ReflectionTestUtils.setField(filter, "fpp", FPP);
+        filter.rebuild();
+    }
+
+    @Test
+    void keysLoadedAtStartupAreFound() {
+        assertTrue(filter.mightContain("stored-1"));
+        assertTrue(filter.mightContain("stored-2"));
+    }
+
+    @Test
+    void addedKeysAreAlwaysFound() {
+        for (int i = 0; i < EXPECTED_KEYS; i++) {
+            filter.add("key-" + i);
+        }
+        for (int i = 0; i < EXPECTED_KEYS; i++) {
+            assertTrue(filter.mightContain("key-" + i), "false negative for key-" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        for (int i = 0; i < EXPECTED_KEYS; i++) {
+            filter.add("key-" + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        // generous bound: 2x the target rate at full capacity
+        assertTrue(falsePositives < probes * FPP * 2, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void unknownKeyIsNotFound() {
+        assertFalse(filter.mightContain("never-stored"));
+    }
+}
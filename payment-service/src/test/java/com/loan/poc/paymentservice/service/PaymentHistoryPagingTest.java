@@ -0,0 +1,125 @@
+package com.loan.poc.paymentservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.loan.poc.paymentservice.dto.PaymentHistoryItem;
+import com.loan.poc.paymentservice.feign.AccountClient;
+import com.loan.poc.paymentservice.repository.PaymentRepository;
+
+/**
+ * Keyset paging of the payment statement: cursor format, malformed cursors,
+ * and rows sharing the same created_at.
+ */
+class PaymentHistoryPagingTest {
+
+    private static final Instant T = Instant.parse("2026-01-15T10:15:30.123456Z");
+
+    @Test
+    void cursorRoundTrips() {
+        PaymentService.Cursor cursor = new PaymentService.Cursor(T, 42L);
+        assertEquals(cursor, PaymentService.Cursor.parse(cursor.toString()));
+    }
+
+    @Test
+    void malformedCursorsParseToNull() {
+        assertNull(PaymentService.Cursor.parse(null));
+        assertNull(PaymentService.Cursor.parse(""));
+        assertNull(PaymentService.Cursor.parse("42"));
+        assertNull(PaymentService.Cursor.parse("not-a-time_42"));
+        assertNull(PaymentService.Cursor.parse(T + "_"));
+        assertNull(PaymentService.Cursor.parse(T + "_abc"));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        ResponseEntity<List<PaymentHistoryItem>> page = PaymentService.toPage(List.of(item(1, T)), 2);
+        assertEquals(1, page.getBody().size());
+        assertNull(page.getHeaders().getFirst(PaymentService.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void fullPageCursorPointsAtItsLastRow() {
+        List<PaymentHistoryItem> rows = List.of(item(3, T), item(2, T), item(1, T));
+        ResponseEntity<List<PaymentHistoryItem>> page = PaymentService.toPage(rows, 2);
+        assertEquals(2, page.getBody().size());
+        assertEquals(new PaymentService.Cursor(T, 2L).toString(),
+                page.getHeaders().getFirst(PaymentService.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void badCursorIsRejected() {
+        PaymentService service = service(List.of());
+        assertEquals(400, service.getPaymentsByUserId(7L, "garbage", 10).getStatusCode().value());
+    }
+
+    @Test
+    void pagesOverTiedCreatedAtSeeEveryRowOnce() {
+        // 25 rows, five per timestamp → every page boundary falls inside a tie
+        List<PaymentHistoryItem> all = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            all.add(item(i, T.plusSeconds((i - 1) / 5)));
+        }
+        PaymentService service = service(all);
+
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ResponseEntity<List<PaymentHistoryItem>> page = service.getPaymentsByUserId(7L, cursor, 4);
+            page.getBody().forEach(row -> assertTrue(seen.add(row.id()), "row seen twice: " + row.id()));
+            cursor = page.getHeaders().getFirst(PaymentService.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(7, pages);
+    }
+
+    // repository stand-in with the same ordering and keyset predicate as the JPQL queries
+    private static PaymentService service(List<PaymentHistoryItem> all) {
+        Comparator<PaymentHistoryItem> newestFirst = Comparator.comparing(PaymentHistoryItem::createdAt)
+                .thenComparing(PaymentHistoryItem::id).reversed();
+        List<PaymentHistoryItem> sorted = all.stream().sorted(newestFirst).toList();
+
+        PaymentRepository repo = mock(PaymentRepository.class);
+        when(repo.findHistoryByUserId(anyLong(), any(Limit.class))).thenAnswer(inv ->
+                sorted.stream().limit(inv.<Limit>getArgument(1).max()).toList());
+        when(repo.findHistoryByUserIdBefore(anyLong(), any(Instant.class), anyLong(), any(Limit.class))).thenAnswer(inv -> {
+            Instant createdAt = inv.getArgument(1);
+            long id = inv.getArgument(2);
+            return sorted.stream()
+                    .filter(p -> p.createdAt().isBefore(createdAt) || (p.createdAt().equals(createdAt) && p.id() < id))
+                    .limit(inv.<Limit>getArgument(3).max())
+                    .toList();
+        });
+
+        PaymentService service = new PaymentService(mock(AccountClient.class));
+        ReflectionTestUtils.setField(service, "repo", repo);
+        ReflectionTestUtils.setField(service, "maxPageSize", 500);
+        return service;
+    }
+
+    private static PaymentHistoryItem item(long id, Instant createdAt) {
+        return new PaymentHistoryItem(id, 7L, 1L, 2L, BigDecimal.TEN, "PAYMENT", "SUCCESS",
+                "tx-" + id, null, createdAt);
+    }
+}
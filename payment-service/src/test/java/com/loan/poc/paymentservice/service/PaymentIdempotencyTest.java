@@ -0,0 +1,82 @@
+package com.loan.poc.paymentservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.loan.poc.paymentservice.dto.LoanPaymentRequest;
+import com.loan.poc.paymentservice.feign.AccountClient;
+import com.loan.poc.paymentservice.model.Payment;
+
+/**
+ * Idempotency-Key binding: a key only replays the request it was first used for,
+ * with the status that request was answered with.
+ */
+class PaymentIdempotencyTest {
+
+    private final PaymentService service = new PaymentService(mock(AccountClient.class));
+
+    @Test
+    void fingerprintIgnoresAmountScale() {
+        assertEquals(PaymentService.fingerprint(request("alice", "10")),
+                PaymentService.fingerprint(request("alice", "10.00")));
+    }
+
+    @Test
+    void fingerprintCoversPayloadAndCaller() {
+        String base = PaymentService.fingerprint(request("alice", "10"));
+        assertNotEquals(base, PaymentService.fingerprint(request("alice", "11")));
+        assertNotEquals(base, PaymentService.fingerprint(request("bob", "10")));
+    }
+
+    @Test
+    void reusedKeyWithDifferentPayloadIsRejected() {
+        Payment stored = stored("SUCCESS", null, request("alice", "10"));
+        assertEquals(422, service.replay(stored, request("alice", "99")).getStatusCode().value());
+        assertEquals(422, service.replay(stored, request("bob", "10")).getStatusCode().value());
+    }
+
+    @Test
+    void replayReturnsOriginalStatus() {
+        LoanPaymentRequest req = request("alice", "10");
+        assertEquals(200, service.replay(stored("SUCCESS", 200, req), req).getStatusCode().value());
+        assertEquals(409, service.replay(stored("PENDING", null, req), req).getStatusCode().value());
+        assertEquals(400, service.replay(stored("FAILED", 400, req), req).getStatusCode().value());
+        assertEquals(502, service.replay(stored("FAILED", 502, req), req).getStatusCode().value());
+    }
+
+    @Test
+    void rowsWithoutHashAreStillReplayed() {
+        Payment legacy = stored("SUCCESS", null, request("alice", "10"));
+        legacy.setRequestHash(null);
+        assertTrue(PaymentService.matchesRequest(legacy, request("bob", "1")));
+        assertFalse(PaymentService.matchesRequest(stored("SUCCESS", null, request("alice", "10")),
+                request("bob", "1")));
+    }
+
+    private static LoanPaymentRequest request(String caller, String amount) {
+        LoanPaymentRequest r = new LoanPaymentRequest();
+        r.setDepositAccountId(1L);
+        r.setLoanAccountId(2L);
+        r.setAmount(new BigDecimal(amount));
+        r.setDescription("EMI");
+        r.setIdempotencyKey("key-1");
+        r.setCaller(caller);
+        return r;
+    }
+
+    private static Payment stored(String status, Integer responseStatus, LoanPaymentRequest request) {
+        Payment p = new Payment();
+        p.setStatus(status);
+        p.setResponseStatus(responseStatus);
+        p.setIdempotencyKey(request.getIdempotencyKey());
+        p.setRequestHash(PaymentService.fingerprint(request));
+        return p;
+    }
+}
@@ -0,0 +1,154 @@
+package com.loan.poc.paymentservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.loan.poc.paymentservice.dto.AccountResponse;
+import com.loan.poc.paymentservice.dto.LoanPaymentRequest;
+import com.loan.poc.paymentservice.feign.AccountClient;
+import com.loan.poc.paymentservice.model.Payment;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Group-commit writes that time out: a write still queued is cancelled and
+ * never written, one already taken by the writer is reported unconfirmed,
+ * and payLoan answers the latter with 202 instead of a failure.
+ */
+class PaymentWriteTimeoutTest {
+
+    private static final Duration WRITE_TIMEOUT = Duration.ofMillis(200);
+
+    @Test
+    void timedOutQueuedWriteIsNeverWritten() throws Exception {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        when(jdbc.queryForObject(anyString(), any(Class.class))).thenReturn(50L);
+        TransactionTemplate tx = mock(TransactionTemplate.class);
+        CountDownLatch firstGroupStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tx.execute(any())).thenAnswer(inv -> {
+            firstGroupStarted.countDown();
+            release.await();
+            return inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        });
+
+        PaymentGroupCommitter committer = new PaymentGroupCommitter(
+                jdbc, tx, Duration.ZERO, 1, 10, WRITE_TIMEOUT, ObservationRegistry.NOOP);
+        try {
+            // A: taken by the writer, whose transaction hangs
+            Payment a = pending();
+            CompletableFuture<Payment> first = CompletableFuture.supplyAsync(() -> committer.save(a));
+            assertTrue(firstGroupStarted.await(5, TimeUnit.SECONDS));
+
+            // B: still queued behind A when its wait runs out → cancelled
+            Payment b = pending();
+            QueryTimeoutException timedOut = assertThrows(QueryTimeoutException.class, () -> committer.save(b));
+            assertFalse(timedOut instanceof PaymentGroupCommitter.UnconfirmedWriteException);
+
+            CompletionException unconfirmed = assertThrows(CompletionException.class, first::join);
+            assertInstanceOf(PaymentGroupCommitter.UnconfirmedWriteException.class, unconfirmed.getCause());
+
+            // the writer resumes; C is queued after B, so B has been skipped once C returns
+            release.countDown();
+            Payment c = committer.save(pending());
+
+            assertNotNull(c.getId());
+            assertNull(b.getId());
+            verify(jdbc, times(2)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+            assertEquals(2, committer.writes());
+        } finally {
+            release.countDown();
+            committer.stop();
+        }
+    }
+
+    @Test
+    void unconfirmedPendingInsertAnswers202WithTransactionId() {
+        AccountClient accountClient = mock(AccountClient.class);
+        when(accountClient.getByIds(anyList(), anyBoolean())).thenReturn(List.of(account(1L), account(2L)));
+        PaymentWriter writer = mock(PaymentWriter.class);
+        when(writer.save(any())).thenThrow(new PaymentGroupCommitter.UnconfirmedWriteException("slow", null));
+        PaymentService service = new PaymentService(accountClient);
+        ReflectionTestUtils.setField(service, "paymentWriter", writer);
+
+        ResponseEntity<String> response = service.payLoan(request());
+
+        assertEquals(202, response.getStatusCode().value());
+        assertTrue(response.getBody().contains("not confirmed in time"));
+        // no transfer for a payment whose row is not known to exist; the reconciler drives it if it commits
+        verify(accountClient, never()).transfer(any());
+    }
+
+    @Test
+    void cancelledPendingInsertAnswers503() {
+        AccountClient accountClient = mock(AccountClient.class);
+        when(accountClient.getByIds(anyList(), anyBoolean())).thenReturn(List.of(account(1L), account(2L)));
+        PaymentWriter writer = mock(PaymentWriter.class);
+        when(writer.save(any())).thenThrow(new QueryTimeoutException("queued too long"));
+        PaymentService service = new PaymentService(accountClient);
+        ReflectionTestUtils.setField(service, "paymentWriter", writer);
+
+        assertEquals(503, service.payLoan(request()).getStatusCode().value());
+        verify(accountClient, never()).transfer(any());
+    }
+
+    private static Payment pending() {
+        Payment p = new Payment();
+        p.setUserId(7L);
+        p.setDepositAccountId(1L);
+        p.setLoanAccountId(2L);
+        p.setAmount(new BigDecimal("10.00"));
+        p.setTxType("PAYMENT");
+        p.setStatus("PENDING");
+        return p;
+    }
+
+    private static AccountResponse account(Long id) {
+        AccountResponse a = new AccountResponse();
+        a.setId(id);
+        a.setUserId(7L);
+        a.setBalance(new BigDecimal("1000.00"));
+        return a;
+    }
+
+    private static LoanPaymentRequest request() {
+        LoanPaymentRequest r = new LoanPaymentRequest();
+        r.setDepositAccountId(1L);
+        r.setLoanAccountId(2L);
+        r.setAmount(new BigDecimal("10.00"));
+        r.setDescription("EMI");
+        r.setCaller("alice");
+        return r;
+    }
+}
@@ -0,0 +1,47 @@
+package com.loan.poc.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Forces read-only transactions started inside call() onto the primary
+ * database, for reads that must see the latest committed write (e.g. the
+ * balances payment-service checks before a transfer, a payment a worker picks
+ * up right after it was inserted, or a value about to be cached).
+ *
+ * No-op when no replica is configured. Must wrap the transaction, not run
+ * inside one: the DataSource is chosen when the transaction's first statement runs.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> FORCED = ThreadLocal.withInitial(() -> false);
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        boolean outer = FORCED.get();
+        FORCED.set(true);
+        try {
+            return reads.get();
+        } finally {
+            FORCED.set(outer);
+        }
+    }
+
+    /**
+     * Carries the caller's setting into a task handed to another thread.
+     */
+    public static Runnable propagate(Runnable task) {
+        if (!FORCED.get()) {
+            return task;
+        }
+        return () -> call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    static boolean isForced() {
+        return FORCED.get();
+    }
+}
@@ -0,0 +1,124 @@
+package com.loan.poc.replica;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Primary and replica pools plus the replica health check.
+ *
+ * readDataSource() serves read-only transactions:
+ * - replica when it answered the last check and lags at most maxLag
+ * - primary otherwise, or when the caller asked for it (PrimaryReads)
+ */
+public class ReplicaRouting implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    // 0 when connected to its upstream (WAL receiver running) and everything received is replayed,
+    // else age of the last replayed commit: a replica that lost its upstream ages out instead of
+    // reporting 0. NULL (nothing replayed yet) → not usable
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN EXISTS (SELECT 1 FROM pg_stat_wal_receiver)"
+            + " AND pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final Duration maxLag;
+    private final AbstractRoutingDataSource readDataSource;
+    private final ScheduledExecutorService checker;
+
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = -1;
+
+    public ReplicaRouting(HikariDataSource primary, HikariDataSource replica,
+                          Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+
+        this.readDataSource = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return replicaUsable && !PrimaryReads.isForced() ? "replica" : "primary";
+            }
+        };
+        this.readDataSource.setTargetDataSources(Map.of("primary", primary, "replica", replica));
+        this.readDataSource.setDefaultTargetDataSource(primary);
+        this.readDataSource.afterPropertiesSet();
+
+        this.checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health");
+            t.setDaemon(true);
+            return t;
+        });
+        checker.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public DataSource readDataSource() {
+        return readDataSource;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public double lagSeconds() {
+        return lagSeconds;
+    }
+
+    private void check() {
+        try (Connection con = replica.getConnection();
+             Statement st = con.createStatement()) {
+            st.setQueryTimeout(2);
+            try (ResultSet rs = st.executeQuery(LAG_SQL)) {
+                rs.next();
+                double lag = rs.getDouble(1);
+                lagSeconds = rs.wasNull() ? -1 : lag;
+            }
+            boolean usable = lagSeconds >= 0 && lagSeconds * 1000 <= maxLag.toMillis();
+            if (usable != replicaUsable) {
+                if (usable) {
+                    log.info("Replica back in use (lag {}s)", lagSeconds);
+                } else if (lagSeconds < 0) {
+                    log.warn("Replica lag unknown → reads go to primary");
+                } else {
+                    log.warn("Replica lagging {}s → reads go to primary", lagSeconds);
+                }
+            }
+            replicaUsable = usable;
+        } catch (Exception ex) {
+            if (replicaUsable) {
+                log.warn("Replica unavailable → reads go to primary: {}", ex.toString());
+            }
+            replicaUsable = false;
+            lagSeconds = -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,75 @@
+package com.loan.poc.replica;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write split, active only when datasource.replica.url is set.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy: the physical
+ * connection is taken at the first statement, when the transaction's read-only
+ * flag is known.
+ * - read-write transactions → primary
+ * - read-only transactions → replica, falling back to primary when it is
+ *   down or lags (see ReplicaRouting)
+ *
+ * Runs before the Boot DataSource auto-configuration, which then backs off.
+ */
+@AutoConfiguration(beforeName = "org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration")
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReplicaRoutingAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouting replicaRouting(
+            @Value("${spring.datasource.url}") String primaryUrl,
+            @Value("${spring.datasource.username}") String primaryUser,
+            @Value("${spring.datasource.password}") String primaryPassword,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int primaryPoolSize,
+            @Value("${datasource.replica.url}") String replicaUrl,
+            @Value("${datasource.replica.username:${spring.datasource.username}}") String replicaUser,
+            @Value("${datasource.replica.password:${spring.datasource.password}}") String replicaPassword,
+            @Value("${datasource.replica.maximum-pool-size:10}") int replicaPoolSize,
+            @Value("${datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${datasource.replica.check-interval:2s}") Duration checkInterval) {
+        return new ReplicaRouting(
+                pool("primary", primaryUrl, primaryUser, primaryPassword, primaryPoolSize, false),
+                pool("replica", replicaUrl, replicaUser, replicaPassword, replicaPoolSize, true),
+                maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouting routing) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing.primary());
+        dataSource.setReadOnlyDataSource(routing.readDataSource());
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(String name, String url, String user, String password,
+                                         int size, boolean readOnly) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(name);
+        ds.setJdbcUrl(url);
+        ds.setUsername(user);
+        ds.setPassword(password);
+        ds.setMaximumPoolSize(size);
+        ds.setReadOnly(readOnly);
+        // same as spring.datasource.hikari.data-source-properties in the services: JDBC batches → multi-row INSERTs
+        ds.addDataSourceProperty("reWriteBatchedInserts", "true");
+        if (readOnly) {
+            // the replica may be down at startup → routing falls back instead of failing the context
+            ds.setInitializationFailTimeout(-1);
+        }
+        return ds;
+    }
+}
@@ -0,0 +1,194 @@
+package com.loan.poc.tracing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Local span exporter (picked up by the OpenTelemetry auto-configuration).
+ *
+ * - Keeps the spans of the last tracing.recent.max-traces traces in memory
+ * - If tracing.export.file is set, also appends every span as one JSON line.
+ *   All services can point at the same file → TraceController then shows
+ *   complete cross-service waterfalls.
+ *
+ * The file is shared by several processes: each export is appended with a
+ * single write in append mode, readers look only at the last
+ * tracing.export.max-read-bytes and skip lines that do not parse (torn or
+ * interleaved writes).
+ */
+public class RecentTraceExporter implements SpanExporter {
+
+    /** One finished span, as kept in memory and written to the file. */
+    public record SpanRecord(String traceId, String spanId, String parentSpanId, String service,
+                             String name, long startMicros, long durationMicros) {
+    }
+
+    // trailing tokens → two spans glued on one line by interleaved writes, rejected
+    private final JsonMapper json = JsonMapper.builder()
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+            .build();
+    private final String serviceName;
+    private final int maxTraces;
+    private final int maxFileSpans;
+    private final long maxReadBytes;
+    private final Path file;
+
+    // traceId → spans, oldest trace evicted first
+    private final Map<String, List<SpanRecord>> traces;
+
+    public RecentTraceExporter(@Value("${spring.application.name}") String serviceName,
+                               @Value("${tracing.recent.max-traces:2000}") int maxTraces,
+                               @Value("${tracing.export.max-read-spans:50000}") int maxFileSpans,
+                               @Value("${tracing.export.max-read-bytes:16777216}") long maxReadBytes,
+                               @Value("${tracing.export.file:}") String file) {
+        this.serviceName = serviceName;
+        this.maxTraces = maxTraces;
+        this.maxFileSpans = maxFileSpans;
+        this.maxReadBytes = maxReadBytes;
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.traces = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<SpanRecord>> eldest) {
+                return size() > RecentTraceExporter.this.maxTraces;
+            }
+        };
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanRecord> records = new ArrayList<>(spans.size());
+        for (SpanData span : spans) {
+            records.add(new SpanRecord(
+                    span.getTraceId(),
+                    span.getSpanId(),
+                    span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                    serviceName,
+                    span.getName(),
+                    TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()),
+                    TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos())));
+        }
+
+        synchronized (traces) {
+            for (SpanRecord r : records) {
+                traces.computeIfAbsent(r.traceId(), id -> new ArrayList<>()).add(r);
+            }
+        }
+
+        if (file != null) {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream(records.size() * 256);
+            for (SpanRecord r : records) {
+                lines.writeBytes(json.writeValueAsBytes(r));
+                lines.write('\n');
+            }
+            // whole batch in one append → lines of other processes never land inside it
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            } catch (IOException ex) {
+                return CompletableResultCode.ofFailure();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Spans grouped by trace: the shared file when configured (all services),
+     * otherwise this service's in-memory spans.
+     */
+    public Map<String, List<SpanRecord>> recentTraces() {
+        if (file == null || !Files.exists(file)) {
+            synchronized (traces) {
+                Map<String, List<SpanRecord>> copy = new LinkedHashMap<>();
+                traces.forEach((id, spans) -> copy.put(id, List.copyOf(spans)));
+                return copy;
+            }
+        }
+
+        Deque<SpanRecord> tail = new ArrayDeque<>();
+        for (String line : tailLines(file, maxReadBytes)) {
+            SpanRecord r = parse(line);
+            if (r == null) {
+                continue;
+            }
+            tail.addLast(r);
+            if (tail.size() > maxFileSpans) {
+                tail.removeFirst();
+            }
+        }
+        Map<String, List<SpanRecord>> byTrace = new LinkedHashMap<>();
+        for (SpanRecord r : tail) {
+            byTrace.computeIfAbsent(r.traceId(), id -> new ArrayList<>()).add(r);
+        }
+        return byTrace;
+    }
+
+    /**
+     * Complete lines within the last maxBytes of the file. When the read starts
+     * mid-file the first (partial) line is dropped.
+     */
+    static List<String> tailLines(Path file, long maxBytes) {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            long from = Math.max(0, size - maxBytes);
+            ByteBuffer buffer = ByteBuffer.allocate((int) (size - from));
+            while (buffer.hasRemaining() && in.read(buffer, from + buffer.position()) >= 0) {
+                // read until the snapshot size is reached
+            }
+            String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+            List<String> lines = new ArrayList<>(text.lines().toList());
+            if (from > 0 && !lines.isEmpty()) {
+                lines.remove(0);
+            }
+            return lines;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read " + file, ex);
+        }
+    }
+
+    // null for a torn or interleaved line
+    private SpanRecord parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return json.readValue(line, SpanRecord.class);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,93 @@
+package com.loan.poc.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.loan.poc.tracing.RecentTraceExporter.SpanRecord;
+
+/**
+ * GET /traces/slowest?limit=10 → the slowest recent traces as text waterfalls:
+ *
+ *   trace 4bf92f3577b34da6  182.40 ms
+ *        0.00   182.40 ms  |##########################| payment-service  http post /payments/loan
+ *        1.20    14.02 ms  | ##                       | payment-service  http get
+ *       ...
+ *
+ * Columns: offset from trace start, span duration, bar, service, span name.
+ * Children are indented below their parent.
+ */
+@RestController
+@RequestMapping("/traces")
+public class TraceController {
+
+    private static final int BAR_WIDTH = 40;
+
+    @Autowired
+    private RecentTraceExporter exporter;
+
+    @GetMapping(value = "/slowest", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String slowest(@RequestParam(defaultValue = "10") int limit) {
+        StringBuilder out = new StringBuilder();
+        exporter.recentTraces().values().stream()
+                .sorted(Comparator.comparingLong(TraceController::traceDuration).reversed())
+                .limit(Math.max(1, Math.min(limit, 100)))
+                .forEach(spans -> waterfall(spans, out));
+        return out.toString();
+    }
+
+    private static long traceStart(List<SpanRecord> spans) {
+        return spans.stream().mapToLong(SpanRecord::startMicros).min().orElse(0);
+    }
+
+    private static long traceDuration(List<SpanRecord> spans) {
+        long end = spans.stream().mapToLong(s -> s.startMicros() + s.durationMicros()).max().orElse(0);
+        return end - traceStart(spans);
+    }
+
+    private static void waterfall(List<SpanRecord> spans, StringBuilder out) {
+        long start = traceStart(spans);
+        long total = Math.max(1, traceDuration(spans));
+        out.append(String.format("trace %s  %.2f ms%n", spans.get(0).traceId(), total / 1000.0));
+
+        // parent → children, roots are spans whose parent is not part of the collected trace
+        Map<String, SpanRecord> byId = new HashMap<>();
+        spans.forEach(s -> byId.put(s.spanId(), s));
+        Map<String, List<SpanRecord>> children = new HashMap<>();
+        spans.stream()
+                .filter(s -> s.parentSpanId() != null && byId.containsKey(s.parentSpanId()))
+                .forEach(s -> children.computeIfAbsent(s.parentSpanId(), id -> new ArrayList<>()).add(s));
+        spans.stream()
+                .filter(s -> s.parentSpanId() == null || !byId.containsKey(s.parentSpanId()))
+                .sorted(Comparator.comparingLong(SpanRecord::startMicros))
+                .forEach(root -> line(root, 0, start, total, children, out));
+        out.append(System.lineSeparator());
+    }
+
+    private static void line(SpanRecord span, int depth, long traceStart, long total,
+                             Map<String, List<SpanRecord>> children, StringBuilder out) {
+        long offset = span.startMicros() - traceStart;
+        int from = (int) (offset * BAR_WIDTH / total);
+        int width = Math.max(1, (int) (span.durationMicros() * BAR_WIDTH / total));
+        StringBuilder bar = new StringBuilder(" ".repeat(BAR_WIDTH));
+        for (int i = from; i < Math.min(BAR_WIDTH, from + width); i++) {
+            bar.setCharAt(i, '#');
+        }
+        out.append(String.format("  %9.2f %9.2f ms  |%s| %-16s %s%s%n",
+                offset / 1000.0, span.durationMicros() / 1000.0, bar, span.service(),
+                "  ".repeat(depth), span.name()));
+
+        children.getOrDefault(span.spanId(), List.of()).stream()
+                .sorted(Comparator.comparingLong(SpanRecord::startMicros))
+                .forEach(child -> line(child, depth + 1, traceStart, total, children, out));
+    }
+}
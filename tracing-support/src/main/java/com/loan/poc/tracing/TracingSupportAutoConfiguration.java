@@ -0,0 +1,19 @@
+package com.loan.poc.tracing;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Registers RecentTraceExporter (picked up by the OpenTelemetry
+ * auto-configuration as a SpanExporter) and GET /traces/slowest in every
+ * service that has this jar on its classpath.
+ *
+ * The endpoint shows request paths and timings → each service's security
+ * configuration must require authentication for /traces/**.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication
+@Import({ RecentTraceExporter.class, TraceController.class })
+public class TracingSupportAutoConfiguration {
+}
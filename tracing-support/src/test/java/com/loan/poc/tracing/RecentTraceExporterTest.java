@@ -0,0 +1,68 @@
+package com.loan.poc.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.loan.poc.tracing.RecentTraceExporter.SpanRecord;
+
+/**
+ * Reading the shared span file: bounded tail, torn lines skipped.
+ */
+class RecentTraceExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void tornAndInterleavedLinesAreSkipped() throws IOException {
+        Path file = dir.resolve("spans.jsonl");
+        Files.writeString(file, String.join("\n",
+                span("t1", "a"),
+                "{\"traceId\":\"t1\",\"spanId\":\"b\",\"par",        // torn line
+                span("t2", "c") + span("t2", "d"),                  // two writes on one line
+                span("t2", "e"),
+                "") , StandardCharsets.UTF_8);
+
+        Map<String, List<SpanRecord>> traces = exporter(file, 1 << 20).recentTraces();
+
+        assertEquals(List.of("a"), traces.get("t1").stream().map(SpanRecord::spanId).toList());
+        assertEquals(List.of("e"), traces.get("t2").stream().map(SpanRecord::spanId).toList());
+    }
+
+    @Test
+    void onlyTheTailOfTheFileIsRead() throws IOException {
+        Path file = dir.resolve("spans.jsonl");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(span("t" + i, "s" + i)).append('\n');
+        }
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        long lineBytes = span("t999", "s999").length() + 1;
+
+        Map<String, List<SpanRecord>> traces = exporter(file, lineBytes * 10 + 5).recentTraces();
+
+        // 10 whole lines fit, the partial line in front of them is dropped
+        assertEquals(10, traces.size());
+        assertTrue(traces.containsKey("t999"));
+        assertTrue(traces.containsKey("t990"));
+    }
+
+    private static RecentTraceExporter exporter(Path file, long maxReadBytes) {
+        return new RecentTraceExporter("test-service", 100, 50_000, maxReadBytes, file.toString());
+    }
+
+    private static String span(String traceId, String spanId) {
+        return "{\"traceId\":\"" + traceId + "\",\"spanId\":\"" + spanId + "\",\"parentSpanId\":null,"
+                + "\"service\":\"test-service\",\"name\":\"op\",\"startMicros\":1,\"durationMicros\":2}";
+    }
+}
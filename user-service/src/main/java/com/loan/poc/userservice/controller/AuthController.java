@@ -5,13 +5,20 @@ import com.loan.poc.userservice.dto.*;
 import com.loan.poc.userservice.model.User;
 import com.loan.poc.userservice.repository.UserRepository;
 import com.loan.poc.userservice.security.JWTUtil;
+import com.loan.poc.userservice.security.PasswordHashingExecutor;
+import com.loan.poc.userservice.service.MyUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.security.authentication.*;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.GetMapping;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 
 @RestController
 @RequestMapping("/api/auth")
@@ -21,6 +28,10 @@ public class AuthController {
     @Autowired private BCryptPasswordEncoder passwordEncoder;
     @Autowired private AuthenticationManager authManager;
     @Autowired private JWTUtil jwtUtil;
+    @Autowired private MyUserDetailsService userDetailsService;
+    @Autowired private PasswordHashingExecutor hashingExecutor;
+    // Spring's task executor; continuations (DB save, token) leave the bcrypt pool
+    @Autowired @Qualifier("applicationTaskExecutor") private Executor requestExecutor;
 
     @GetMapping("get")
     public String getMethodName() {
@@ -28,28 +39,62 @@ public class AuthController {
     }
     
 
+    /**
+     * Password hashing runs on PasswordHashingExecutor; the request thread is
+     * released while it waits. A full hashing queue answers 503 immediately.
+     * Everything after the hash/match step runs on requestExecutor, so the
+     * bcrypt threads never wait on the database.
+     */
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest req) {
+    public CompletableFuture<ResponseEntity<?>> register(@RequestBody RegisterRequest req) {
         if (repo.existsByUsername(req.getUsername())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Username already exists");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.CONFLICT).body("Username already exists"));
+        }
+        try {
+            return hashingExecutor.submit(() -> passwordEncoder.encode(req.getPassword()))
+                    .<ResponseEntity<?>>thenApplyAsync(hash -> {
+                        User u = new User();
+                        u.setUsername(req.getUsername());
+                        u.setPasswordHash(hash);
+                        u.setRoles("ROLE_USER");
+                        repo.save(u);
+                        userDetailsService.evict(u.getUsername());
+                        return ResponseEntity.ok(new RegisterResponse("Registered", u.getId()));
+                    }, requestExecutor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(busy());
         }
-        User u = new User();
-        u.setUsername(req.getUsername());
-        u.setPasswordHash(passwordEncoder.encode(req.getPassword()));
-        u.setRoles("ROLE_USER");
-        repo.save(u);
-        return ResponseEntity.ok(new RegisterResponse("Registered", u.getId()));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest req) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody AuthRequest req) {
         try {
-            authManager.authenticate(new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword()));
-        } catch (BadCredentialsException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+            return hashingExecutor.submit(() -> {
+                        try {
+                            authManager.authenticate(new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword()));
+                            return true;
+                        } catch (BadCredentialsException e) {
+                            return false;
+                        }
+                    })
+                    .<ResponseEntity<?>>thenApplyAsync(authenticated -> {
+                        if (!authenticated) {
+                            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+                        }
+                        // Already loaded (and cached) by authenticate(); roles go into the token claims
+                        final var userDetails = userDetailsService.loadUserByUsername(req.getUsername());
+                        final var token = jwtUtil.generateToken(userDetails);
+                        return ResponseEntity.ok(new AuthResponse(token));
+                    }, requestExecutor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(busy());
         }
-        final var userDetails = repo.findByUsername(req.getUsername()).orElseThrow();
-        final var token = jwtUtil.generateToken(new org.springframework.security.core.userdetails.User(userDetails.getUsername(), userDetails.getPasswordHash(), java.util.List.of()));
-        return ResponseEntity.ok(new AuthResponse(token));
+    }
+
+    private ResponseEntity<?> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Authentication service busy, retry later");
     }
 }
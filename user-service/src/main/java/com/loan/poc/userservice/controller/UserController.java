@@ -3,6 +3,8 @@ package com.loan.poc.userservice.controller;
 import com.loan.poc.userservice.dto.UserValidationResponse;
 import com.loan.poc.userservice.service.UserService;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,4 +26,10 @@ public class UserController {
         return userService.validateUser(username);
     }
 
+    // Bulk variant for imports: returns the subset of ids that exist
+    @PostMapping("/validate/ids")
+    public ResponseEntity<List<Long>> existingUserIds(@RequestBody List<Long> ids) {
+        return userService.existingUserIds(ids);
+    }
+
 }
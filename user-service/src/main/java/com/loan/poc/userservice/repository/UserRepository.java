@@ -1,12 +1,20 @@
 package com.loan.poc.userservice.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.loan.poc.userservice.model.User;
 
 public interface UserRepository extends JpaRepository<User,Long>{
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    // Bulk validation: which of these ids belong to a user (primary key index lookups)
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,15 +1,27 @@
 package com.loan.poc.userservice.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
@@ -28,6 +40,47 @@ public class JWTUtil {
     @Value("${jwt.expiration}")
     private long expiration;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    // Signing key and parser are immutable and thread-safe → built once
+    private SecretKey key;
+    private JwtParser parser;
+
+    /**
+     * Already-verified tokens, keyed by SHA-256 of the token and evicted when
+     * the token expires. A hit skips the HMAC check and JSON decoding.
+     */
+    private Cache<ByteBuffer, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        key = getKey();
+        parser = Jwts.parser()
+                .verifyWith(key)// Set signing key for validation
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<ByteBuffer, Claims>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer digest, Claims claims, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     /**
      * Generates a new JWT token for the authenticated user.
      * Adds roles as part of the token claims.
@@ -62,7 +115,7 @@ public class JWTUtil {
                 .issuedAt(new Date(System.currentTimeMillis())) // Token creation timestamp
                 .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 30))// Token expiry timestamp
                 .and()
-                .signWith(getKey()) // Sign token using HS256
+                .signWith(key) // Sign token using HS256
                 .compact();// Generate final JWT string
 
     }
@@ -82,6 +135,31 @@ public class JWTUtil {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Extracts the role names stored in the "roles" claim by generateToken.
+     * Authorities are serialized as {"authority": "ROLE_X"} objects; plain
+     * strings are accepted too.
+     *
+     * @param token The JWT token
+     * @return Role names, empty if the claim is missing
+     */
+    public List<String> extractRoles(String token) {
+        return extractClaim(token, claims -> {
+            Object roles = claims.get("roles");
+            List<String> names = new ArrayList<>();
+            if (roles instanceof Collection<?> items) {
+                for (Object item : items) {
+                    if (item instanceof Map<?, ?> map && map.get("authority") != null) {
+                        names.add(map.get("authority").toString());
+                    } else if (item instanceof String name) {
+                        names.add(name);
+                    }
+                }
+            }
+            return names;
+        });
+    }
+
     /**
      * Generic method to extract any claim from the token using a resolver function.
      *
@@ -105,24 +183,38 @@ public class JWTUtil {
      *         or tampered.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())// Set signing key for validation
-                .build()
+        ByteBuffer digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser
                 .parseSignedClaims(token)// Parses and validates token signature
                 .getPayload(); // Returns token claims
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName = extractUsername(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex); // mandatory in every JRE
+        }
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Validates the token against the user with a single parse
+     * (subject and expiration come from the same Claims).
+     */
+    public boolean validateToken(String token, UserDetails userDetails) {
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date()));
     }
 
 }
@@ -1,14 +1,19 @@
 package com.loan.poc.userservice.security;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,12 +24,21 @@ import com.loan.poc.userservice.service.MyUserDetailsService;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final String SERVICE_ROLE = "ROLE_SERVICE";
+
     @Autowired
     private JWTUtil jwtUtil;
 
     @Autowired
     private MyUserDetailsService userDetailsService;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    // true → principal built from verified token claims, no database lookup per request
+    @Value("${jwt.principal-from-claims:false}")
+    private boolean principalFromClaims;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -44,7 +58,18 @@ public class JwtFilter extends OncePerRequestFilter {
             jwtToken = authHeader.substring(7);
 
             // 3. Extract username from the token
-            username = jwtUtil.extractUsername(jwtToken);
+            //    observed as auth.jwt.verify{outcome}: timer + span (parse + signature check)
+            Observation observation = Observation.createNotStarted("auth.jwt.verify", observationRegistry).start();
+            String outcome = "invalid";
+            try (Observation.Scope scope = observation.openScope()) {
+                username = jwtUtil.extractUsername(jwtToken);
+                outcome = "valid";
+            } catch (RuntimeException ex) {
+                observation.error(ex);
+                throw ex;
+            } finally {
+                observation.lowCardinalityKeyValue("outcome", outcome).stop();
+            }
         }
 
         /**
@@ -53,8 +78,11 @@ public class JwtFilter extends OncePerRequestFilter {
          */
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // 5. Load user details from DB
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // 5. Load user details (cached) or build them from the signed token;
+            //    service tokens (ROLE_SERVICE, e.g. account-service's import) have no user row
+            UserDetails userDetails = principalFromClaims || isServiceToken(jwtToken)
+                    ? fromClaims(username, jwtToken)
+                    : userDetailsService.loadUserByUsername(username);
 
             // 6. Validate the JWT token
             if (jwtUtil.validateToken(jwtToken, userDetails)) {
@@ -73,5 +101,14 @@ public class JwtFilter extends OncePerRequestFilter {
         // 9. Continue the filter chain
         filterChain.doFilter(request, response);
     }
-}
 
+    private boolean isServiceToken(String jwtToken) {
+        return jwtUtil.extractRoles(jwtToken).contains(SERVICE_ROLE);
+    }
+
+    private UserDetails fromClaims(String username, String jwtToken) {
+        List<String> roles = jwtUtil.extractRoles(jwtToken);
+        return new User(username, "",
+                MyUserDetailsService.toAuthorities(roles.isEmpty() ? null : String.join(",", roles)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.loan.poc.userservice.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Dedicated pool for CPU-bound BCrypt work (login and register).
+ *
+ * - One thread per core by default, so hashing can never take every
+ *   Tomcat request thread during a login storm
+ * - Bounded queue: when full, submit() throws RejectedExecutionException
+ *   right away and the caller answers 503 instead of queueing without limit
+ * - Records hash time and queue wait as percentile histograms
+ *   (auth.bcrypt.hash, auth.bcrypt.queue.wait)
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+
+    public PasswordHashingExecutor(@Value("${auth.hashing.threads:0}") int threads,
+                                   @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+                                   MeterRegistry registry) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("auth.bcrypt.hash")
+                .description("Time spent in BCrypt (encode or authenticate)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.queueWaitTimer = Timer.builder("auth.bcrypt.queue.wait")
+                .description("Time a hashing task waited for a worker")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("auth.bcrypt.queue.size", pool, p -> p.getQueue().size())
+                .register(registry);
+    }
+
+    /**
+     * Runs the task on the hashing pool.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueued = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            queueWaitTimer.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+            return hashTimer.record(task);
+        }, pool);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
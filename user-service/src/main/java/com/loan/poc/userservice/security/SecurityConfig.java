@@ -3,6 +3,7 @@ package com.loan.poc.userservice.security;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -48,8 +49,11 @@ public class SecurityConfig {
         http.cors(Customizer.withDefaults())
             .csrf(customizer -> customizer.disable()) // disable CSRF for APIs
             .authorizeHttpRequests(auth -> auth
+                        // bulk id check (imports) would let anyone enumerate user ids → signed-in users or service tokens
+                        .requestMatchers(HttpMethod.POST, "/api/users/validate/ids").authenticated()
                         .requestMatchers(
-                                "/api/auth/**", "/api/users/validate/**")
+                                "/api/auth/**", "/api/users/validate/**",
+                                "/actuator/health", "/actuator/prometheus")
                                 .permitAll()
                         .anyRequest().authenticated()
                 )
@@ -1,29 +1,113 @@
 package com.loan.poc.userservice.service;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.loan.poc.userservice.model.User;
 import com.loan.poc.userservice.repository.UserRepository;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Loads users for Spring Security, backed by a bounded, TTL-evicted cache.
+ *
+ * The cache holds an immutable snapshot; every call returns a new UserDetails
+ * because Spring Security erases credentials on the returned object after login.
+ * Code that changes a user's roles or password, or deletes a user, must call
+ * {@link #evict(String)}. Unknown usernames are never cached.
+ *
+ * Loads run on virtual threads outside the cache's map lock, so a request on a
+ * virtual thread waiting for the database never pins its carrier thread. The
+ * caller's trace and security context are carried over to the load thread.
+ */
 @Component
 public class MyUserDetailsService implements UserDetailsService {
 
     @Autowired
     private UserRepository repo;
 
+    @Value("${users.details-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${users.details-cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    private static final TaskDecorator CONTEXT = new ContextPropagatingTaskDecorator();
+
+    private final ExecutorService loadThreads = Executors.newVirtualThreadPerTaskExecutor();
+
+    private AsyncCache<String, CachedUser> cache;
+
+    private record CachedUser(String username, String passwordHash, List<GrantedAuthority> authorities) {
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .executor(task -> loadThreads.execute(new DelegatingSecurityContextRunnable(CONTEXT.decorate(task))))
+                .buildAsync();
+    }
+
+    @PreDestroy
+    void close() {
+        loadThreads.close();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User u = repo.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        var authorities = Arrays.stream((u.getRoles() == null ? "ROLE_USER" : u.getRoles()).split(","))
+        CachedUser u;
+        try {
+            u = cache.get(username, this::load).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) {
+                throw re; // UsernameNotFoundException and friends
+            }
+            throw ex;
+        }
+        return new org.springframework.security.core.userdetails.User(u.username(), u.passwordHash(), u.authorities());
+    }
+
+    /**
+     * Drops the cached entry so the next load reads the database again.
+     */
+    public void evict(String username) {
+        cache.synchronous().invalidate(username);
+    }
+
+    /**
+     * Parses the comma separated roles column (e.g. "ROLE_USER,ROLE_ADMIN"),
+     * defaulting to ROLE_USER.
+     */
+    public static List<GrantedAuthority> toAuthorities(String roles) {
+        return Arrays.stream((roles == null || roles.isBlank() ? "ROLE_USER" : roles).split(","))
+                .map(String::trim)
                 .map(SimpleGrantedAuthority::new).collect(Collectors.toList());
-        return new org.springframework.security.core.userdetails.User(u.getUsername(), u.getPasswordHash(), authorities);
+    }
+
+    private CachedUser load(String username) {
+        User u = repo.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return new CachedUser(u.getUsername(), u.getPasswordHash(), List.copyOf(toAuthorities(u.getRoles())));
     }
 }
@@ -1,8 +1,10 @@
 package com.loan.poc.userservice.service;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +18,9 @@ public class UserService {
     @Autowired
     private UserRepository repo;
 
+    @Value("${users.validate.max-ids:1000}")
+    private int maxValidateIds;
+
     public ResponseEntity<?> getUserById(Long id) {
 
         Optional<User> u = repo.findById(id);
@@ -38,4 +43,18 @@ public class UserService {
 
     }
 
+    /**
+     * Ids (out of the given ones) that belong to an existing user; one query
+     * for the whole list instead of one validate call per user.
+     */
+    public ResponseEntity<List<Long>> existingUserIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        if (ids.size() > maxValidateIds) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(repo.findExistingIds(ids));
+    }
+
 }